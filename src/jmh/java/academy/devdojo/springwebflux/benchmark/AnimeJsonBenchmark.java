@@ -0,0 +1,42 @@
+package academy.devdojo.springwebflux.benchmark;
+
+import academy.devdojo.springwebflux.domain.Anime;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class AnimeJsonBenchmark {
+
+    private ObjectMapper objectMapper;
+    private Anime anime;
+    private byte[] json;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        anime = Anime.builder().id(1).name("Pokemon").build();
+        json = objectMapper.writeValueAsBytes(anime);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        return objectMapper.writeValueAsBytes(anime);
+    }
+
+    @Benchmark
+    public Anime decode() throws IOException {
+        return objectMapper.readValue(json, Anime.class);
+    }
+}
@@ -0,0 +1,115 @@
+package academy.devdojo.springwebflux.benchmark;
+
+import academy.devdojo.springwebflux.cache.AnimeCache;
+import academy.devdojo.springwebflux.cache.AnimeListingCache;
+import academy.devdojo.springwebflux.cache.AnimeSuggestIndex;
+import academy.devdojo.springwebflux.config.CacheControlProperties;
+import academy.devdojo.springwebflux.controller.AnimeController;
+import academy.devdojo.springwebflux.controller.AnimeListingController;
+import academy.devdojo.springwebflux.controller.CachedAnimeListingController;
+import academy.devdojo.springwebflux.domain.Anime;
+import academy.devdojo.springwebflux.notification.AnimeChangeFeed;
+import academy.devdojo.springwebflux.repository.AnimeRepository;
+import academy.devdojo.springwebflux.service.AnimeBatchService;
+import academy.devdojo.springwebflux.service.AnimeImportService;
+import academy.devdojo.springwebflux.service.AnimeService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.mockito.ArgumentMatchers;
+import org.mockito.BDDMockito;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class AnimeRequestBenchmark {
+
+    @Param({"10", "1000"})
+    private int animes;
+
+    @Param({"false", "true"})
+    private boolean listingCache;
+
+    private WebTestClient client;
+
+    @Setup
+    public void setUp() {
+        List<Anime> catalog = IntStream.rangeClosed(1, animes)
+                .mapToObj(id -> Anime.builder().id(id).name("Anime " + id).build())
+                .toList();
+
+        AnimeRepository animeRepository = Mockito.mock(AnimeRepository.class, Mockito.withSettings().stubOnly());
+        BDDMockito.when(animeRepository.findAll())
+                .thenReturn(Flux.fromIterable(catalog));
+        BDDMockito.when(animeRepository.catalogVersion())
+                .thenReturn(Mono.just("42"));
+        BDDMockito.when(animeRepository.findById(ArgumentMatchers.anyInt()))
+                .thenReturn(Mono.just(catalog.get(0)));
+
+        AnimeService animeService = new AnimeService(animeRepository, new AnimeCache(Caffeine.newBuilder().buildAsync(), Caffeine.newBuilder().build()),
+                new AnimeSuggestIndex(Schedulers.immediate()),
+                Mockito.mock(TransactionalOperator.class));
+        AnimeImportService animeImportService = Mockito.mock(AnimeImportService.class, Mockito.withSettings().stubOnly());
+        AnimeBatchService animeBatchService = Mockito.mock(AnimeBatchService.class, Mockito.withSettings().stubOnly());
+        AnimeChangeFeed animeChangeFeed = Mockito.mock(AnimeChangeFeed.class, Mockito.withSettings().stubOnly());
+        CacheControlProperties cacheControlProperties = new CacheControlProperties(Duration.ZERO, true, true);
+        Object listingController = listingCache
+                ? new CachedAnimeListingController(animeService, new AnimeListingCache(new ObjectMapper(), Schedulers.immediate()), cacheControlProperties)
+                : new AnimeListingController(animeService, cacheControlProperties);
+        client = WebTestClient.bindToController(new AnimeController(animeService, animeImportService, animeBatchService, animeChangeFeed,
+                        cacheControlProperties), listingController)
+                .build();
+    }
+
+    @Benchmark
+    public byte[] findById() {
+        return client.get()
+                .uri("/animes/{id}", 1)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .returnResult()
+                .getResponseBody();
+    }
+
+    @Benchmark
+    public byte[] listAll() {
+        return client.get()
+                .uri("/animes")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .returnResult()
+                .getResponseBody();
+    }
+
+    @Benchmark
+    public byte[] listAllNotModified() {
+        return client.get()
+                .uri("/animes")
+                .ifNoneMatch("\"animes-42\"")
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectBody()
+                .returnResult()
+                .getResponseBody();
+    }
+}
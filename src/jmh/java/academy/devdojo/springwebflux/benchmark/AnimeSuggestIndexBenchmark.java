@@ -0,0 +1,65 @@
+package academy.devdojo.springwebflux.benchmark;
+
+import academy.devdojo.springwebflux.cache.AnimeSuggestIndex;
+import academy.devdojo.springwebflux.domain.Anime;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class AnimeSuggestIndexBenchmark {
+
+    @Param({"1000000", "10000000"})
+    private int animes;
+
+    private List<Anime> catalog;
+    private AnimeSuggestIndex index;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        catalog = IntStream.rangeClosed(1, animes)
+                .mapToObj(id -> Anime.builder().id(id).name("Anime " + Integer.toString(id, 36)).build())
+                .toList();
+        index = new AnimeSuggestIndex(Schedulers.immediate());
+        index.rebuild(catalog).block();
+        System.out.printf("%n%d animes indexed in ~%d MB%n", index.size(), index.estimatedFootprintBytes() >> 20);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        index.destroy();
+    }
+
+    @Benchmark
+    public List<Anime> suggest() {
+        return index.suggest("anime " + Integer.toString(ThreadLocalRandom.current().nextInt(36, 1296), 36), 10);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 1)
+    @Measurement(iterations = 3)
+    public void rebuild() {
+        index.rebuild(catalog).block();
+    }
+}
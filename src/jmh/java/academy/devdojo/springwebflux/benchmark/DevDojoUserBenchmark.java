@@ -0,0 +1,37 @@
+package academy.devdojo.springwebflux.benchmark;
+
+import academy.devdojo.springwebflux.domain.DevDojoUser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class DevDojoUserBenchmark {
+
+    private DevDojoUser user;
+
+    @Setup
+    public void setUp() {
+        user = new DevDojoUser(1, "Jean", "jean", "{bcrypt}$2a$10$encoded", "ROLE_USER,ROLE_ADMIN");
+    }
+
+    @Benchmark
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return user.getAuthorities();
+    }
+
+    @Benchmark
+    public boolean hasRole() {
+        return user.hasRole("ADMIN");
+    }
+}
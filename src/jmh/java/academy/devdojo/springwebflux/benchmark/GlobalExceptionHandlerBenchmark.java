@@ -0,0 +1,51 @@
+package academy.devdojo.springwebflux.benchmark;
+
+import academy.devdojo.springwebflux.exception.CustomAttributes;
+import academy.devdojo.springwebflux.exception.DomainException;
+import academy.devdojo.springwebflux.exception.GlobalExceptionHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.boot.autoconfigure.web.WebProperties;
+import org.springframework.context.support.StaticApplicationContext;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class GlobalExceptionHandlerBenchmark {
+
+    private GlobalExceptionHandler globalExceptionHandler;
+
+    @Setup
+    public void setUp() throws Exception {
+        globalExceptionHandler = new GlobalExceptionHandler(new CustomAttributes(), new WebProperties(),
+                new StaticApplicationContext(), ServerCodecConfigurer.create(), new SimpleMeterRegistry());
+        globalExceptionHandler.afterPropertiesSet();
+    }
+
+    @Benchmark
+    public MockServerWebExchange notFound() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/animes/{id}", 1));
+        globalExceptionHandler.handle(exchange, new ResponseStatusException(HttpStatus.NOT_FOUND, "Anime not found")).block();
+        return exchange;
+    }
+
+    @Benchmark
+    public MockServerWebExchange domainNotFound() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/animes/{id}", 1));
+        globalExceptionHandler.handle(exchange, DomainException.ANIME_NOT_FOUND).block();
+        return exchange;
+    }
+}
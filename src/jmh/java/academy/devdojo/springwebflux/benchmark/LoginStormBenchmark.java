@@ -0,0 +1,79 @@
+package academy.devdojo.springwebflux.benchmark;
+
+import academy.devdojo.springwebflux.config.OffloadProperties;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.security.authentication.UserDetailsRepositoryReactiveAuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.MapReactiveUserDetailsService;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.crypto.factory.PasswordEncoderFactories;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.TimeUnit;
+
+// Logins and a probe share a two-thread "event loop"; the probe's sample time is how long any other request waits for it
+// during a login storm. Add VIRTUAL_THREADS to the modes when running on Java 21.
+@State(Scope.Group)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LoginStormBenchmark {
+
+    @Param({"EVENT_LOOP", "BOUNDED_ELASTIC"})
+    private OffloadProperties.Mode offload;
+
+    private Scheduler eventLoop;
+    private Scheduler offloadScheduler;
+    private UserDetailsRepositoryReactiveAuthenticationManager authenticationManager;
+
+    @Setup
+    public void setUp() {
+        PasswordEncoder passwordEncoder = PasswordEncoderFactories.createDelegatingPasswordEncoder();
+        eventLoop = Schedulers.newParallel("event-loop", 2, true);
+        offloadScheduler = new OffloadProperties(offload, 64, 100_000).newScheduler();
+        authenticationManager = new UserDetailsRepositoryReactiveAuthenticationManager(
+                new MapReactiveUserDetailsService(User.withUsername("william")
+                        .password(passwordEncoder.encode("devdojo"))
+                        .roles("USER")
+                        .build()));
+        authenticationManager.setPasswordEncoder(passwordEncoder);
+        authenticationManager.setScheduler(offloadScheduler);
+    }
+
+    @TearDown
+    public void tearDown() {
+        eventLoop.dispose();
+        offloadScheduler.dispose();
+    }
+
+    @Benchmark
+    @Group("loginStorm")
+    @GroupThreads(8)
+    public Authentication login() {
+        return Mono.defer(() -> authenticationManager.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("william", "devdojo")))
+                .subscribeOn(eventLoop)
+                .block();
+    }
+
+    @Benchmark
+    @Group("loginStorm")
+    @GroupThreads(1)
+    public Integer eventLoopProbe() {
+        return Mono.fromCallable(() -> 1)
+                .subscribeOn(eventLoop)
+                .block();
+    }
+}
@@ -0,0 +1,167 @@
+package academy.devdojo.springwebflux.benchmark;
+
+import academy.devdojo.springwebflux.cache.AnimeCache;
+import academy.devdojo.springwebflux.cache.AnimeSuggestIndex;
+import academy.devdojo.springwebflux.config.CacheControlProperties;
+import academy.devdojo.springwebflux.controller.AnimeController;
+import academy.devdojo.springwebflux.controller.AnimeRSocketController;
+import academy.devdojo.springwebflux.domain.Anime;
+import academy.devdojo.springwebflux.notification.AnimeChangeFeed;
+import academy.devdojo.springwebflux.repository.AnimeRepository;
+import academy.devdojo.springwebflux.service.AnimeBatchService;
+import academy.devdojo.springwebflux.service.AnimeImportService;
+import academy.devdojo.springwebflux.service.AnimeService;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.rsocket.core.RSocketServer;
+import io.rsocket.transport.netty.server.CloseableChannel;
+import io.rsocket.transport.netty.server.TcpServerTransport;
+import org.mockito.ArgumentMatchers;
+import org.mockito.BDDMockito;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.cbor.Jackson2CborDecoder;
+import org.springframework.http.codec.cbor.Jackson2CborEncoder;
+import org.springframework.http.server.reactive.ReactorHttpHandlerAdapter;
+import org.springframework.messaging.rsocket.RSocketRequester;
+import org.springframework.messaging.rsocket.RSocketStrategies;
+import org.springframework.messaging.rsocket.annotation.support.RSocketMessageHandler;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import org.springframework.web.reactive.config.EnableWebFlux;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.adapter.WebHttpHandlerBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+// Both transports run over loopback TCP against the same mocked AnimeService, without security, so the difference is
+// protocol and encoding cost: JSON over HTTP/1.1 versus CBOR over RSocket.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(8)
+public class RSocketVsRestBenchmark {
+
+    @Param({"1000"})
+    private int animes;
+
+    private AnnotationConfigApplicationContext webContext;
+    private DisposableServer httpServer;
+    private CloseableChannel rsocketServer;
+    private WebClient webClient;
+    private RSocketRequester requester;
+
+    @Setup
+    public void setUp() {
+        List<Anime> catalog = IntStream.rangeClosed(1, animes)
+                .mapToObj(id -> Anime.builder().id(id).name("Anime " + id).version(0).build())
+                .toList();
+
+        AnimeRepository animeRepository = Mockito.mock(AnimeRepository.class, Mockito.withSettings().stubOnly());
+        BDDMockito.when(animeRepository.findAll())
+                .thenReturn(Flux.fromIterable(catalog));
+        BDDMockito.when(animeRepository.findById(ArgumentMatchers.anyInt()))
+                .thenReturn(Mono.just(catalog.get(0)));
+        AnimeService animeService = Mockito.spy(new AnimeService(animeRepository,
+                new AnimeCache(Caffeine.newBuilder().buildAsync(), Caffeine.newBuilder().build()), new AnimeSuggestIndex(Schedulers.immediate()),
+                Mockito.mock(TransactionalOperator.class)));
+        BDDMockito.doReturn(Flux.fromIterable(catalog)).when(animeService).streamAll();
+        AnimeImportService animeImportService = Mockito.mock(AnimeImportService.class, Mockito.withSettings().stubOnly());
+
+        webContext = new AnnotationConfigApplicationContext();
+        webContext.register(WebConfig.class);
+        webContext.registerBean(AnimeController.class, () -> new AnimeController(animeService, animeImportService,
+                Mockito.mock(AnimeBatchService.class), Mockito.mock(AnimeChangeFeed.class),
+                new CacheControlProperties(Duration.ZERO, true, true)));
+        webContext.refresh();
+        httpServer = HttpServer.create()
+                .host("localhost")
+                .port(0)
+                .handle(new ReactorHttpHandlerAdapter(WebHttpHandlerBuilder.applicationContext(webContext).build()))
+                .bindNow();
+        webClient = WebClient.create("http://localhost:" + httpServer.port());
+
+        RSocketStrategies strategies = RSocketStrategies.builder()
+                .encoder(new Jackson2CborEncoder())
+                .decoder(new Jackson2CborDecoder())
+                .build();
+        RSocketMessageHandler messageHandler = new RSocketMessageHandler();
+        messageHandler.setRSocketStrategies(strategies);
+        messageHandler.setHandlers(List.of(new AnimeRSocketController(animeService, animeImportService)));
+        messageHandler.afterPropertiesSet();
+        rsocketServer = RSocketServer.create(messageHandler.responder())
+                .bind(TcpServerTransport.create("localhost", 0))
+                .block();
+        requester = RSocketRequester.builder()
+                .rsocketStrategies(strategies)
+                .dataMimeType(MediaType.APPLICATION_CBOR)
+                .tcp("localhost", rsocketServer.address().getPort());
+    }
+
+    @TearDown
+    public void tearDown() {
+        requester.dispose();
+        rsocketServer.dispose();
+        httpServer.disposeNow();
+        webContext.close();
+    }
+
+    @Benchmark
+    public Anime restFindById() {
+        return webClient.get()
+                .uri("/animes/{id}", 1)
+                .retrieve()
+                .bodyToMono(Anime.class)
+                .block();
+    }
+
+    @Benchmark
+    public Anime rsocketFindById() {
+        return requester.route("animes.find-by-id")
+                .data(1)
+                .retrieveMono(Anime.class)
+                .block();
+    }
+
+    @Benchmark
+    public Long restStreamAll() {
+        return webClient.get()
+                .uri("/animes")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .retrieve()
+                .bodyToFlux(Anime.class)
+                .count()
+                .block();
+    }
+
+    @Benchmark
+    public Long rsocketStreamAll() {
+        return requester.route("animes.stream")
+                .retrieveFlux(Anime.class)
+                .count()
+                .block();
+    }
+
+    @Configuration
+    @EnableWebFlux
+    static class WebConfig {
+    }
+}
@@ -0,0 +1,62 @@
+package academy.devdojo.springwebflux.benchmark;
+
+import academy.devdojo.springwebflux.config.TokenProperties;
+import academy.devdojo.springwebflux.security.CachingPasswordEncoder;
+import academy.devdojo.springwebflux.security.TokenService;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.crypto.factory.PasswordEncoderFactories;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class SecurityBenchmark {
+
+    private PasswordEncoder passwordEncoder;
+    private PasswordEncoder cachingPasswordEncoder;
+    private TokenService tokenService;
+    private String encodedPassword;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        passwordEncoder = PasswordEncoderFactories.createDelegatingPasswordEncoder();
+        cachingPasswordEncoder = new CachingPasswordEncoder(passwordEncoder, Caffeine.newBuilder().<String, Boolean>build());
+        encodedPassword = passwordEncoder.encode("devdojo");
+        cachingPasswordEncoder.matches("devdojo", encodedPassword);
+
+        tokenService = new TokenService(new TokenProperties(true, "devdojo-benchmark-secret", Duration.ofHours(1)));
+        Authentication authentication = UsernamePasswordAuthenticationToken.authenticated("jean", null,
+                AuthorityUtils.createAuthorityList("ROLE_USER", "ROLE_ADMIN"));
+        token = tokenService.issue(authentication).accessToken();
+    }
+
+    @Benchmark
+    public boolean basicPasswordMatch() {
+        return passwordEncoder.matches("devdojo", encodedPassword);
+    }
+
+    @Benchmark
+    public boolean cachedPasswordMatch() {
+        return cachingPasswordEncoder.matches("devdojo", encodedPassword);
+    }
+
+    @Benchmark
+    public Optional<Authentication> tokenVerify() {
+        return tokenService.verify(token);
+    }
+}
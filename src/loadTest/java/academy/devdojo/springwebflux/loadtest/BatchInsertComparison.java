@@ -0,0 +1,93 @@
+package academy.devdojo.springwebflux.loadtest;
+
+import academy.devdojo.springwebflux.SpringWebfluxApplication;
+import academy.devdojo.springwebflux.domain.Anime;
+import academy.devdojo.springwebflux.repository.AnimeRepository;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import reactor.core.publisher.Flux;
+
+import java.io.FileOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+// Inserts the same rows through ReactiveCrudRepository.saveAll (one INSERT per row) and through insertAll (one multi-row
+// INSERT per call), one call per batch, so both paths are compared at the same batch sizes against a real Postgres
+public class BatchInsertComparison {
+
+    private static final int[] BATCH_SIZES = {1, 10, 100, 500, 1000};
+    private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(1);
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    public static void main(String[] args) throws Exception {
+        Path report = Path.of(args.length > 0 ? args[0] : "build/reports/loadtest/batch-insert.txt");
+        int rows = args.length > 1 ? Integer.parseInt(args[1]) : 20_000;
+        Files.createDirectories(report.toAbsolutePath().getParent());
+
+        try (LoadTestDatabase database = LoadTestDatabase.start()) {
+            database.createSchema();
+
+            try (ConfigurableApplicationContext context = SpringApplication.run(SpringWebfluxApplication.class,
+                    "--server.port=0",
+                    "--spring.rsocket.server.port=0",
+                    "--spring.r2dbc.url=" + database.r2dbcUrl(),
+                    "--spring.r2dbc.username=postgres",
+                    "--spring.r2dbc.password=",
+                    "--spring.flyway.url=" + database.jdbcUrl(),
+                    "--spring.flyway.user=postgres",
+                    "--spring.flyway.password=",
+                    "--logging.level.org.springframework.r2dbc=INFO",
+                    "--devdojo.cache.invalidation.enabled=false",
+                    "--devdojo.anime.batch-size=" + BATCH_SIZES[BATCH_SIZES.length - 1]);
+                 PrintStream out = new PrintStream(new FileOutputStream(report.toFile()), true, StandardCharsets.UTF_8)) {
+                AnimeRepository animeRepository = context.getBean(AnimeRepository.class);
+
+                // Warms up both paths so the first measured batch size does not pay for class loading and the pool
+                run(animeRepository::saveAll, 100, rows / 10);
+                run(animeRepository::insertAll, 100, rows / 10);
+
+                out.printf("rows per run: %d%n", rows);
+                out.printf("%-10s %-12s %10s %12s %10s %10s%n", "batch", "path", "calls", "rows/s", "p50 ms", "p99 ms");
+                for (int batchSize : BATCH_SIZES) {
+                    print(out, batchSize, "saveAll", run(animeRepository::saveAll, batchSize, rows), rows);
+                    print(out, batchSize, "insertAll", run(animeRepository::insertAll, batchSize, rows), rows);
+                }
+            }
+        }
+        System.out.printf("Wrote %s%n", report.toAbsolutePath());
+    }
+
+    private static Result run(Function<List<Anime>, Flux<Anime>> insert, int batchSize, int rows) {
+        Histogram latency = new Histogram(HIGHEST_TRACKABLE_NANOS, 3);
+        long started = System.nanoTime();
+        for (int offset = 0; offset < rows; offset += batchSize) {
+            List<Anime> batch = IntStream.range(offset, Math.min(offset + batchSize, rows))
+                    .mapToObj(index -> Anime.builder().name("Anime " + index).build())
+                    .toList();
+            long callStarted = System.nanoTime();
+            insert.apply(batch).then().block();
+            latency.recordValue(Math.min(System.nanoTime() - callStarted, HIGHEST_TRACKABLE_NANOS));
+        }
+        return new Result(latency, System.nanoTime() - started);
+    }
+
+    private static void print(PrintStream out, int batchSize, String path, Result result, int rows) {
+        out.printf("%-10d %-12s %10d %12.1f %10.2f %10.2f%n",
+                batchSize,
+                path,
+                result.latency().getTotalCount(),
+                rows / (result.elapsedNanos() / 1_000_000_000.0),
+                result.latency().getValueAtPercentile(50) / NANOS_PER_MILLI,
+                result.latency().getValueAtPercentile(99) / NANOS_PER_MILLI);
+    }
+
+    private record Result(Histogram latency, long elapsedNanos) {
+    }
+}
@@ -0,0 +1,131 @@
+package academy.devdojo.springwebflux.loadtest;
+
+import academy.devdojo.springwebflux.SpringWebfluxApplication;
+import academy.devdojo.springwebflux.domain.Anime;
+import academy.devdojo.springwebflux.notification.CacheInvalidationListener;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.security.crypto.factory.PasswordEncoderFactories;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.time.Duration;
+import java.util.function.BooleanSupplier;
+
+public class CacheCoherenceCheck {
+
+    private static final String USERNAME = "user1";
+    private static final String PASSWORD = "devdojo";
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    public static void main(String[] args) throws Exception {
+        PasswordEncoder passwordEncoder = PasswordEncoderFactories.createDelegatingPasswordEncoder();
+
+        try (LoadTestDatabase database = LoadTestDatabase.start()) {
+            database.createSchema();
+            database.seed(10, 1, passwordEncoder.encode(PASSWORD));
+
+            try (ConfigurableApplicationContext writerNode = startNode(database);
+                 ConfigurableApplicationContext readerNode = startNode(database)) {
+                await("both nodes listening", () -> listeners(database) >= 2);
+                WebClient writer = client(writerNode);
+                WebClient reader = client(readerNode);
+
+                name(reader, 1);
+                writer.put()
+                        .uri("/animes/{id}", 1)
+                        .bodyValue(Anime.builder().id(1).name("Renamed").build())
+                        .retrieve()
+                        .toBodilessEntity()
+                        .block();
+                await("anime update", () -> "Renamed".equals(name(reader, 1)));
+
+                check(status(reader, "/animes/11").isSameCodeAs(HttpStatus.NOT_FOUND), "anime 11 should not exist yet");
+                Anime created = writer.post()
+                        .uri("/animes")
+                        .bodyValue(Anime.builder().name("Created").build())
+                        .retrieve()
+                        .bodyToMono(Anime.class)
+                        .block();
+                check(created != null && created.getId() == 11, "expected the new anime to get id 11");
+                await("anime insert after a cached miss", () -> status(reader, "/animes/11").is2xxSuccessful());
+
+                writer.delete()
+                        .uri("/animes/{id}", 11)
+                        .retrieve()
+                        .toBodilessEntity()
+                        .block();
+                await("anime delete", () -> status(reader, "/animes/11").isSameCodeAs(HttpStatus.NOT_FOUND));
+
+                check(status(reader, "/animes/1").is2xxSuccessful(), "the reader should authenticate with the seeded password");
+                database.update("UPDATE anime.devdojo_user SET password = ? WHERE username = ?", passwordEncoder.encode("changed"), USERNAME);
+                await("principal password change", () -> status(reader, "/animes/1").isSameCodeAs(HttpStatus.UNAUTHORIZED));
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext startNode(LoadTestDatabase database) {
+        return SpringApplication.run(SpringWebfluxApplication.class,
+                "--server.port=0",
+                "--spring.r2dbc.url=" + database.r2dbcUrl(),
+                "--spring.r2dbc.username=postgres",
+                "--spring.r2dbc.password=",
+                "--spring.flyway.url=" + database.jdbcUrl(),
+                "--spring.flyway.user=postgres",
+                "--spring.flyway.password=",
+                "--logging.level.org.springframework.r2dbc=INFO",
+                "--devdojo.rate-limit.enabled=false");
+    }
+
+    private static WebClient client(ConfigurableApplicationContext node) {
+        int port = ((WebServerApplicationContext) node).getWebServer().getPort();
+        return WebClient.builder()
+                .baseUrl("http://localhost:" + port)
+                .defaultHeaders(headers -> headers.setBasicAuth(USERNAME, PASSWORD))
+                .build();
+    }
+
+    private static String name(WebClient client, int id) {
+        Anime anime = client.get()
+                .uri("/animes/{id}", id)
+                .retrieve()
+                .bodyToMono(Anime.class)
+                .block();
+        return anime == null ? null : anime.getName();
+    }
+
+    private static HttpStatusCode status(WebClient client, String uri) {
+        return client.get()
+                .uri(uri)
+                .exchangeToMono(response -> response.releaseBody().thenReturn(response.statusCode()))
+                .block();
+    }
+
+    private static int listeners(LoadTestDatabase database) {
+        try {
+            return database.listeners(CacheInvalidationListener.CHANNEL);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void await(String scenario, BooleanSupplier condition) throws InterruptedException {
+        long started = System.nanoTime();
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() - started > TIMEOUT.toNanos()) {
+                throw new IllegalStateException(scenario + ": not coherent after " + TIMEOUT.toMillis() + " ms");
+            }
+            Thread.sleep(1);
+        }
+        System.out.printf("%-36s coherent after %6.2f ms%n", scenario, (System.nanoTime() - started) / 1_000_000.0);
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new IllegalStateException(message);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package academy.devdojo.springwebflux.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+public class EndpointStats {
+
+    private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(1);
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final String endpoint;
+    private final Histogram latency = new ConcurrentHistogram(HIGHEST_TRACKABLE_NANOS, 3);
+    private final LongAdder errors = new LongAdder();
+
+    public EndpointStats(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    public void record(long latencyNanos, boolean error) {
+        latency.recordValue(Math.min(latencyNanos, HIGHEST_TRACKABLE_NANOS));
+        if (error) {
+            errors.increment();
+        }
+    }
+
+    public static void printHeader(PrintStream out) {
+        out.printf("%-22s %10s %10s %10s %10s %10s %8s%n", "endpoint", "requests", "req/s", "p50 ms", "p99 ms", "p999 ms", "errors");
+    }
+
+    public static void printSummaryHeader(PrintStream out) {
+        out.println("| variant | requests | req/s | p50 ms | p99 ms | p999 ms | errors |");
+        out.println("|---|---:|---:|---:|---:|---:|---:|");
+    }
+
+    public void printSummary(PrintStream out, String variant, Duration elapsed) {
+        long requests = latency.getTotalCount();
+        out.printf("| %s | %d | %.1f | %.2f | %.2f | %.2f | %.2f%% |%n",
+                variant,
+                requests,
+                requests / (elapsed.toNanos() / 1_000_000_000.0),
+                latency.getValueAtPercentile(50) / NANOS_PER_MILLI,
+                latency.getValueAtPercentile(99) / NANOS_PER_MILLI,
+                latency.getValueAtPercentile(99.9) / NANOS_PER_MILLI,
+                requests == 0 ? 0.0 : errors.sum() * 100.0 / requests);
+    }
+
+    public void print(PrintStream out, Duration elapsed) {
+        long requests = latency.getTotalCount();
+        out.printf("%-22s %10d %10.1f %10.2f %10.2f %10.2f %7.2f%%%n",
+                endpoint,
+                requests,
+                requests / (elapsed.toNanos() / 1_000_000_000.0),
+                latency.getValueAtPercentile(50) / NANOS_PER_MILLI,
+                latency.getValueAtPercentile(99) / NANOS_PER_MILLI,
+                latency.getValueAtPercentile(99.9) / NANOS_PER_MILLI,
+                requests == 0 ? 0.0 : errors.sum() * 100.0 / requests);
+    }
+}
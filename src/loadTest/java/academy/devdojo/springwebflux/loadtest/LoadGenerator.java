@@ -0,0 +1,135 @@
+package academy.devdojo.springwebflux.loadtest;
+
+import academy.devdojo.springwebflux.domain.Anime;
+import academy.devdojo.springwebflux.domain.Token;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+
+public class LoadGenerator {
+
+    private static final String FIND_BY_ID = "GET /animes/{id}";
+    private static final String FIND_PAGE = "GET /animes/page";
+    private static final String SAVE = "POST /animes";
+    private static final String SAVE_BATCH = "POST /animes/batch";
+    private static final String SEARCH = "GET /animes/search";
+    private static final String ALL = "all";
+    private static final int PAGE_SIZE = 50;
+
+    private final WebClient webClient;
+    private final LoadTestOptions options;
+    private final List<String> authorizations;
+
+    public LoadGenerator(WebClient webClient, LoadTestOptions options, String password) {
+        this.webClient = webClient;
+        this.options = options;
+        this.authorizations = IntStream.rangeClosed(1, options.users())
+                .mapToObj(user -> authorization("user" + user, password))
+                .toList();
+    }
+
+    private String authorization(String username, String password) {
+        if (!"token".equals(options.auth())) {
+            return "Basic " + HttpHeaders.encodeBasicAuth(username, password, null);
+        }
+        Token token = webClient.post()
+                .uri("/auth/token")
+                .headers(headers -> headers.setBasicAuth(username, password))
+                .retrieve()
+                .bodyToMono(Token.class)
+                .block();
+        return token.tokenType() + " " + token.accessToken();
+    }
+
+    public Summary run(Duration duration, PrintStream out) {
+        Map<String, EndpointStats> stats = new LinkedHashMap<>();
+        for (String endpoint : List.of(FIND_BY_ID, FIND_PAGE, SAVE, SAVE_BATCH, SEARCH)) {
+            stats.put(endpoint, new EndpointStats(endpoint));
+        }
+        EndpointStats all = new EndpointStats(ALL);
+        LongAdder dropped = new LongAdder();
+        long started = System.nanoTime();
+
+        Flux.interval(Duration.ofNanos(1_000_000_000L / options.rate()))
+                .take(duration)
+                .onBackpressureDrop(tick -> dropped.increment())
+                .flatMap(tick -> nextRequest(stats, all), options.concurrency())
+                .blockLast();
+
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - started);
+        EndpointStats.printHeader(out);
+        stats.values().forEach(endpointStats -> endpointStats.print(out, elapsed));
+        all.print(out, elapsed);
+        out.printf("dropped (generator could not keep up): %d%n", dropped.sum());
+        return new Summary(all, elapsed);
+    }
+
+    private Mono<Void> nextRequest(Map<String, EndpointStats> stats, EndpointStats all) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String authorization = authorizations.get(random.nextInt(authorizations.size()));
+        int roll = random.nextInt(options.readWeight() + options.pageWeight() + options.writeWeight() + options.batchWeight() + options.searchWeight());
+
+        if (roll < options.readWeight()) {
+            return timed(all, stats.get(FIND_BY_ID), webClient.get()
+                    .uri("/animes/{id}", random.nextInt(1, options.animes() + 1))
+                    .header(HttpHeaders.AUTHORIZATION, authorization));
+        }
+        roll -= options.readWeight();
+        if (roll < options.pageWeight()) {
+            return timed(all, stats.get(FIND_PAGE), webClient.get()
+                    .uri("/animes/page?after={after}&limit={limit}", random.nextInt(Math.max(1, options.animes() - PAGE_SIZE)), PAGE_SIZE)
+                    .header(HttpHeaders.AUTHORIZATION, authorization));
+        }
+        roll -= options.pageWeight();
+        if (roll < options.writeWeight()) {
+            return timed(all, stats.get(SAVE), webClient.post()
+                    .uri("/animes")
+                    .header(HttpHeaders.AUTHORIZATION, authorization)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(anime(random)));
+        }
+        roll -= options.writeWeight();
+        if (roll < options.batchWeight()) {
+            return timed(all, stats.get(SAVE_BATCH), webClient.post()
+                    .uri("/animes/batch")
+                    .header(HttpHeaders.AUTHORIZATION, authorization)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(IntStream.range(0, options.batchSize()).mapToObj(index -> anime(random)).toList()));
+        }
+        return timed(all, stats.get(SEARCH), webClient.get()
+                .uri("/animes/search?q={q}&limit={limit}", "Anime " + random.nextInt(1, options.animes() + 1), 20)
+                .header(HttpHeaders.AUTHORIZATION, authorization));
+    }
+
+    private Anime anime(ThreadLocalRandom random) {
+        return Anime.builder().name("Load " + random.nextLong()).build();
+    }
+
+    private Mono<Void> timed(EndpointStats all, EndpointStats endpointStats, WebClient.RequestHeadersSpec<?> request) {
+        return Mono.defer(() -> {
+            long started = System.nanoTime();
+            return request.exchangeToMono(response -> response.releaseBody().thenReturn(response.statusCode().isError()))
+                    .onErrorReturn(true)
+                    .doOnNext(error -> {
+                        long latency = System.nanoTime() - started;
+                        endpointStats.record(latency, error);
+                        all.record(latency, error);
+                    })
+                    .then();
+        });
+    }
+
+    public record Summary(EndpointStats all, Duration elapsed) {
+    }
+}
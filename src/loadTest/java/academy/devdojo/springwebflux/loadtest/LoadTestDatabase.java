@@ -0,0 +1,92 @@
+package academy.devdojo.springwebflux.loadtest;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+public class LoadTestDatabase implements AutoCloseable {
+
+    private final EmbeddedPostgres postgres;
+
+    private LoadTestDatabase(EmbeddedPostgres postgres) {
+        this.postgres = postgres;
+    }
+
+    public static LoadTestDatabase start() throws IOException {
+        return new LoadTestDatabase(EmbeddedPostgres.builder().start());
+    }
+
+    public String r2dbcUrl() {
+        return "r2dbc:postgresql://localhost:" + postgres.getPort() + "/postgres?schema=anime";
+    }
+
+    public String jdbcUrl() {
+        return "jdbc:postgresql://localhost:" + postgres.getPort() + "/postgres";
+    }
+
+    public void createSchema() {
+        Flyway.configure()
+                .dataSource(postgres.getPostgresDatabase())
+                .schemas("anime")
+                .load()
+                .migrate();
+    }
+
+    public void seed(int animes, int users, String encodedPassword) throws SQLException {
+        try (Connection connection = postgres.getPostgresDatabase().getConnection();
+             PreparedStatement animeStatement = connection.prepareStatement(
+                     "INSERT INTO anime.anime (name) SELECT 'Anime ' || g FROM generate_series(1, ?) g");
+             PreparedStatement userStatement = connection.prepareStatement(
+                     "INSERT INTO anime.devdojo_user (name, username, password, authorities) "
+                             + "SELECT 'User ' || g, 'user' || g, ?, 'ROLE_USER,ROLE_ADMIN' FROM generate_series(1, ?) g");
+             Statement statement = connection.createStatement()) {
+            statement.execute("ALTER TABLE anime.anime DISABLE TRIGGER USER");
+            animeStatement.setInt(1, animes);
+            animeStatement.executeUpdate();
+            statement.execute("ALTER TABLE anime.anime ENABLE TRIGGER USER");
+            userStatement.setString(1, encodedPassword);
+            userStatement.setInt(2, users);
+            userStatement.executeUpdate();
+        }
+    }
+
+    public int update(String sql, String... parameters) throws SQLException {
+        try (Connection connection = postgres.getPostgresDatabase().getConnection();
+             PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int index = 0; index < parameters.length; index++) {
+                statement.setString(index + 1, parameters[index]);
+            }
+            return statement.executeUpdate();
+        }
+    }
+
+    public int listeners(String channel) throws SQLException {
+        try (Connection connection = postgres.getPostgresDatabase().getConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                     "SELECT count(*) FROM pg_stat_activity WHERE query = ?")) {
+            statement.setString(1, "LISTEN " + channel);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                return resultSet.getInt(1);
+            }
+        }
+    }
+
+    public void dropSearchIndex() throws SQLException {
+        try (Connection connection = postgres.getPostgresDatabase().getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("DROP INDEX IF EXISTS anime.anime_name_trgm_idx");
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        postgres.close();
+    }
+}
@@ -0,0 +1,93 @@
+package academy.devdojo.springwebflux.loadtest;
+
+import academy.devdojo.springwebflux.SpringWebfluxApplication;
+import io.netty.handler.ssl.util.InsecureTrustManagerFactory;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.security.crypto.factory.PasswordEncoderFactories;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.Http2SslContextSpec;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+
+public class LoadTestHarness {
+
+    private static final String PASSWORD = "devdojo";
+
+    public static void main(String[] args) throws Exception {
+        run(LoadTestOptions.parse(args), System.out);
+    }
+
+    public static LoadGenerator.Summary run(LoadTestOptions options, PrintStream out) throws Exception {
+        try (LoadTestDatabase database = LoadTestDatabase.start()) {
+            database.createSchema();
+            database.seed(options.animes(), options.users(), PasswordEncoderFactories.createDelegatingPasswordEncoder().encode(PASSWORD));
+            if (!options.searchIndex()) {
+                database.dropSearchIndex();
+            }
+
+            List<String> applicationArgs = new ArrayList<>(List.of(
+                    "--server.port=0",
+                    "--spring.r2dbc.url=" + database.r2dbcUrl(),
+                    "--spring.r2dbc.username=postgres",
+                    "--spring.r2dbc.password=",
+                    "--spring.flyway.url=" + database.jdbcUrl(),
+                    "--spring.flyway.user=postgres",
+                    "--spring.flyway.password=",
+                    "--logging.level.org.springframework.r2dbc=INFO"));
+            if ("token".equals(options.auth())) {
+                applicationArgs.add("--devdojo.security.token.enabled=true");
+            }
+            if (!"http1".equals(options.protocol())) {
+                applicationArgs.add("--server.http2.enabled=true");
+            }
+            if ("h2".equals(options.protocol())) {
+                applicationArgs.add("--spring.profiles.include=tls");
+            }
+            if (options.applicationArgs().stream().noneMatch(arg -> arg.startsWith("--devdojo.rate-limit.enabled="))) {
+                applicationArgs.add("--devdojo.rate-limit.enabled=false");
+            }
+            applicationArgs.addAll(options.applicationArgs());
+
+            try (ConfigurableApplicationContext context = SpringApplication.run(SpringWebfluxApplication.class, applicationArgs.toArray(String[]::new))) {
+                int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+                ConnectionProvider connectionProvider = ConnectionProvider.builder("load-test")
+                        .maxConnections(options.connections() > 0 ? options.connections() : options.concurrency())
+                        .pendingAcquireMaxCount(-1)
+                        .build();
+                WebClient webClient = WebClient.builder()
+                        .baseUrl(("h2".equals(options.protocol()) ? "https" : "http") + "://localhost:" + port)
+                        .clientConnector(new ReactorClientHttpConnector(httpClient(connectionProvider, options.protocol())))
+                        .build();
+
+                LoadGenerator loadGenerator = new LoadGenerator(webClient, options, PASSWORD);
+                out.printf("Warming up for %s%n", options.warmup());
+                loadGenerator.run(options.warmup(), out);
+                out.printf("%nRunning %d req/s for %s (auth=%s, protocol=%s, %d animes, %d users)%n",
+                        options.rate(), options.duration(), options.auth(), options.protocol(), options.animes(), options.users());
+                LoadGenerator.Summary summary = loadGenerator.run(options.duration(), out);
+                connectionProvider.dispose();
+                return summary;
+            }
+        }
+    }
+
+    private static HttpClient httpClient(ConnectionProvider connectionProvider, String protocol) {
+        HttpClient httpClient = HttpClient.create(connectionProvider);
+        return switch (protocol) {
+            case "http1" -> httpClient;
+            case "h2c" -> httpClient.protocol(HttpProtocol.H2C);
+            case "h2" -> httpClient.protocol(HttpProtocol.H2)
+                    .secure(spec -> spec.sslContext(Http2SslContextSpec.forClient()
+                            .configure(builder -> builder.trustManager(InsecureTrustManagerFactory.INSTANCE))));
+            default -> throw new IllegalArgumentException("Unknown protocol " + protocol + ", expected http1, h2c or h2");
+        };
+    }
+}
@@ -0,0 +1,65 @@
+package academy.devdojo.springwebflux.loadtest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public record LoadTestOptions(
+        int animes,
+        int users,
+        int rate,
+        Duration duration,
+        Duration warmup,
+        int concurrency,
+        int connections,
+        String protocol,
+        String auth,
+        int batchSize,
+        int readWeight,
+        int pageWeight,
+        int writeWeight,
+        int batchWeight,
+        int searchWeight,
+        boolean searchIndex,
+        List<String> applicationArgs) {
+
+    private static final String APPLICATION_PREFIX = "--app.";
+
+    public static LoadTestOptions parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        List<String> applicationArgs = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.startsWith(APPLICATION_PREFIX)) {
+                applicationArgs.add("--" + arg.substring(APPLICATION_PREFIX.length()));
+            } else if (arg.startsWith("--") && arg.contains("=")) {
+                options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            } else {
+                throw new IllegalArgumentException("Unrecognized argument " + arg + ", expected --key=value or --app.property=value");
+            }
+        }
+        return new LoadTestOptions(
+                intOption(options, "animes", 100_000),
+                intOption(options, "users", 10),
+                intOption(options, "rate", 500),
+                Duration.ofSeconds(intOption(options, "duration", 60)),
+                Duration.ofSeconds(intOption(options, "warmup", 10)),
+                intOption(options, "concurrency", 256),
+                intOption(options, "connections", 0),
+                options.getOrDefault("protocol", "http1"),
+                options.getOrDefault("auth", "basic"),
+                intOption(options, "batch-size", 100),
+                intOption(options, "read-weight", 80),
+                intOption(options, "page-weight", 10),
+                intOption(options, "write-weight", 8),
+                intOption(options, "batch-weight", 2),
+                intOption(options, "search-weight", 0),
+                Boolean.parseBoolean(options.getOrDefault("search-index", "true")),
+                List.copyOf(applicationArgs));
+    }
+
+    private static int intOption(Map<String, String> options, String name, int defaultValue) {
+        return options.containsKey(name) ? Integer.parseInt(options.get(name)) : defaultValue;
+    }
+}
@@ -0,0 +1,59 @@
+package academy.devdojo.springwebflux.loadtest;
+
+import java.io.FileOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Runs the load test once per server setting that application-tuned.yml changes, one variable at a time
+public class ServerTuningMatrix {
+
+    private static final List<String> TUNED = List.of("--app.spring.profiles.active=tuned");
+
+    public static void main(String[] args) throws Exception {
+        Path report = Path.of(args.length > 0 ? args[0] : "build/reports/loadtest/server-tuning.txt");
+        Files.createDirectories(report.toAbsolutePath().getParent());
+
+        Map<String, List<String>> variants = new LinkedHashMap<>();
+        variants.put("default profile, http1", List.of("--protocol=http1"));
+        variants.put("tuned, http1", tuned("--protocol=http1"));
+        variants.put("tuned, h2c", tuned("--protocol=h2c", "--connections=8"));
+        variants.put("tuned, h2", tuned("--protocol=h2", "--connections=8"));
+        variants.put("tuned, h2c, nio", tuned("--protocol=h2c", "--connections=8", "--app.devdojo.server.prefer-native=false"));
+        variants.put("tuned, h2c, unpooled", tuned("--protocol=h2c", "--connections=8", "--app.devdojo.server.pooled-buffers=false"));
+        for (int threads : new int[]{1, 2, 4, 8}) {
+            variants.put("tuned, h2c, " + threads + " event loops",
+                    tuned("--protocol=h2c", "--connections=8", "--app.devdojo.server.event-loop-threads=" + threads));
+        }
+
+        Map<String, LoadGenerator.Summary> summaries = new LinkedHashMap<>();
+        try (PrintStream out = new PrintStream(new FileOutputStream(report.toFile()), true, StandardCharsets.UTF_8)) {
+            for (Map.Entry<String, List<String>> variant : variants.entrySet()) {
+                List<String> variantArgs = new ArrayList<>(List.of(args).subList(Math.min(1, args.length), args.length));
+                variantArgs.addAll(variant.getValue());
+                System.out.printf("Running %s%n", variant.getKey());
+                out.printf("%n=== %s: %s%n", variant.getKey(), String.join(" ", variant.getValue()));
+                summaries.put(variant.getKey(), LoadTestHarness.run(LoadTestOptions.parse(variantArgs.toArray(String[]::new)), out));
+            }
+        }
+        // The per-endpoint report is too long to keep; this table is the part meant to be committed with the profile
+        Path summary = report.resolveSibling("server-tuning-summary.md");
+        try (PrintStream out = new PrintStream(new FileOutputStream(summary.toFile()), true, StandardCharsets.UTF_8)) {
+            out.printf("Load test arguments: %s%n%n", String.join(" ", List.of(args).subList(Math.min(1, args.length), args.length)));
+            EndpointStats.printSummaryHeader(out);
+            summaries.forEach((variant, result) -> result.all().printSummary(out, variant, result.elapsed()));
+        }
+        System.out.printf("Wrote %s and %s%n", report.toAbsolutePath(), summary.toAbsolutePath());
+    }
+
+    private static List<String> tuned(String... args) {
+        List<String> variant = new ArrayList<>(TUNED);
+        variant.addAll(List.of(args));
+        return variant;
+    }
+}
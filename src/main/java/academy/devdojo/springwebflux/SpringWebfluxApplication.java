@@ -2,9 +2,11 @@ package academy.devdojo.springwebflux;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 import org.springframework.security.crypto.factory.PasswordEncoderFactories;
 
 @SpringBootApplication
+@ConfigurationPropertiesScan
 public class SpringWebfluxApplication {
 
 //    static {
@@ -0,0 +1,53 @@
+package academy.devdojo.springwebflux.cache;
+
+import academy.devdojo.springwebflux.domain.Anime;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.IntFunction;
+
+@Component
+@AllArgsConstructor
+public class AnimeCache {
+
+    private final AsyncCache<Integer, Anime> animeCache;
+    private final Cache<Integer, Boolean> missingAnimeCache;
+
+    public Mono<Anime> get(int id, IntFunction<Mono<Anime>> loader) {
+        return Mono.defer(() -> {
+            if (missingAnimeCache.getIfPresent(id) != null) {
+                return Mono.empty();
+            }
+            return Mono.fromFuture(animeCache.get(id, (key, executor) -> loader.apply(key).toFuture()), true)
+                    .switchIfEmpty(Mono.fromRunnable(() -> missingAnimeCache.put(id, Boolean.TRUE)));
+        });
+    }
+
+    public void put(Anime anime) {
+        missingAnimeCache.invalidate(anime.getId());
+        animeCache.put(anime.getId(), CompletableFuture.completedFuture(anime));
+    }
+
+    public void markPresent(int id) {
+        missingAnimeCache.invalidate(id);
+    }
+
+    public void evict(int id) {
+        animeCache.synchronous().invalidate(id);
+    }
+
+    public void invalidate(Collection<Integer> ids) {
+        animeCache.synchronous().invalidateAll(ids);
+        missingAnimeCache.invalidateAll(ids);
+    }
+
+    public void invalidateAll() {
+        animeCache.synchronous().invalidateAll();
+        missingAnimeCache.invalidateAll();
+    }
+}
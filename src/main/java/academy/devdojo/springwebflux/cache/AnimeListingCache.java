@@ -0,0 +1,53 @@
+package academy.devdojo.springwebflux.cache;
+
+import academy.devdojo.springwebflux.domain.Anime;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "devdojo.anime.listing-cache", name = "enabled", havingValue = "true")
+public class AnimeListingCache {
+
+    private final ObjectMapper objectMapper;
+    private final Scheduler offloadScheduler;
+    private final AtomicReference<Listing> listing = new AtomicReference<>();
+
+    public Mono<byte[]> get(String version, Supplier<Flux<Anime>> loader) {
+        while (true) {
+            Listing current = listing.get();
+            if (current != null && current.version().equals(version)) {
+                return current.json();
+            }
+            Mono<byte[]> json = Mono.defer(() -> loader.get().collectList())
+                    .publishOn(offloadScheduler)
+                    .map(this::encode)
+                    .cache(encoded -> Duration.ofMillis(Long.MAX_VALUE), error -> Duration.ZERO, () -> Duration.ZERO);
+            if (listing.compareAndSet(current, new Listing(version, json))) {
+                return json;
+            }
+        }
+    }
+
+    private byte[] encode(List<Anime> animes) {
+        try {
+            return objectMapper.writeValueAsBytes(animes);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not encode the anime listing", e);
+        }
+    }
+
+    private record Listing(String version, Mono<byte[]> json) {
+    }
+}
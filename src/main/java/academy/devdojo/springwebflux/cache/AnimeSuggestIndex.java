@@ -0,0 +1,318 @@
+package academy.devdojo.springwebflux.cache;
+
+import academy.devdojo.springwebflux.domain.Anime;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.regex.Pattern;
+
+@Component
+public class AnimeSuggestIndex implements DisposableBean {
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final int COMPACTION_THRESHOLD = 10_000;
+    private static final Comparator<Entry> ENTRY_ORDER = (first, second) -> {
+        int keyOrder = Arrays.compareUnsigned(first.key(), second.key());
+        return keyOrder != 0 ? keyOrder : Integer.compare(first.id(), second.id());
+    };
+
+    private final Scheduler writer;
+    // Only touched on the writer, like the overlay
+    private final Set<List<Runnable>> journals = Collections.newSetFromMap(new IdentityHashMap<>());
+    private volatile State state = State.empty();
+
+    @Autowired
+    public AnimeSuggestIndex() {
+        this(Schedulers.newSingle("anime-suggest", true));
+    }
+
+    public AnimeSuggestIndex(Scheduler writer) {
+        this.writer = writer;
+    }
+
+    public List<Anime> suggest(String prefix, int limit) {
+        byte[] key = key(prefix);
+        if (key.length == 0 || limit < 1) {
+            return List.of();
+        }
+        State current = state;
+        Snapshot base = current.base();
+        List<Anime> suggestions = new ArrayList<>(limit);
+        int index = base.lowerBound(key);
+        Iterator<Entry> overlay = current.overlay().tailSet(new Entry(key, Integer.MIN_VALUE, null)).iterator();
+        Entry nextOverlay = nextMatching(overlay, key);
+
+        while (suggestions.size() < limit) {
+            while (index < base.size() && base.startsWith(index, key) && current.hidden().contains(base.id(index))) {
+                index++;
+            }
+            boolean hasBase = index < base.size() && base.startsWith(index, key);
+            if (!hasBase && nextOverlay == null) {
+                break;
+            }
+            if (hasBase && (nextOverlay == null || base.compare(index, nextOverlay) < 0)) {
+                suggestions.add(Anime.builder().id(base.id(index)).name(base.name(index)).build());
+                index++;
+            } else {
+                suggestions.add(Anime.builder().id(nextOverlay.id()).name(nextOverlay.name()).build());
+                nextOverlay = nextMatching(overlay, key);
+            }
+        }
+        return suggestions;
+    }
+
+    public Mono<Void> rebuild(Collection<Anime> animes) {
+        return rebuild(Mono.just(animes));
+    }
+
+    // Changes made while the snapshot is read may be missing from it, so they are journaled and replayed on top of it;
+    // replaying one the snapshot already has is harmless
+    public Mono<Void> rebuild(Mono<? extends Collection<Anime>> snapshot) {
+        return Mono.defer(() -> {
+            List<Runnable> journal = new ArrayList<>();
+            return Mono.fromRunnable(() -> journals.add(journal))
+                    .subscribeOn(writer)
+                    .then(snapshot)
+                    .flatMap(animes -> Mono.<Void>fromRunnable(() -> {
+                        journals.remove(journal);
+                        state = State.of(animes);
+                        journal.forEach(Runnable::run);
+                    }).subscribeOn(writer))
+                    .doFinally(signal -> writer.schedule(() -> journals.remove(journal)));
+        });
+    }
+
+    public void put(Anime anime) {
+        if (anime.getId() == null || anime.getName() == null) {
+            return;
+        }
+        writer.schedule(() -> apply(() -> {
+            State current = state;
+            removeOverlay(current, anime.getId());
+            Entry entry = entry(anime);
+            hide(current, anime.getId());
+            current.overlayById().put(anime.getId(), entry);
+            current.overlay().add(entry);
+            compactIfNeeded(current);
+        }));
+    }
+
+    public void remove(int id) {
+        writer.schedule(() -> apply(() -> {
+            State current = state;
+            removeOverlay(current, id);
+            hide(current, id);
+            compactIfNeeded(current);
+        }));
+    }
+
+    public int size() {
+        State current = state;
+        return current.base().size() - current.hidden().size() + current.overlay().size();
+    }
+
+    public long estimatedFootprintBytes() {
+        State current = state;
+        return current.base().footprintBytes() + current.overlay().stream()
+                .mapToLong(entry -> 96L + entry.key().length + 2L * entry.name().length())
+                .sum();
+    }
+
+    @Override
+    public void destroy() {
+        writer.dispose();
+    }
+
+    private void apply(Runnable change) {
+        change.run();
+        journals.forEach(journal -> journal.add(change));
+    }
+
+    private void removeOverlay(State current, int id) {
+        Entry previous = current.overlayById().remove(id);
+        if (previous != null) {
+            current.overlay().remove(previous);
+        }
+    }
+
+    private void hide(State current, int id) {
+        if (current.base().contains(id)) {
+            current.hidden().add(id);
+        }
+    }
+
+    private void compactIfNeeded(State current) {
+        if (current.overlay().size() + current.hidden().size() < COMPACTION_THRESHOLD) {
+            return;
+        }
+        Snapshot base = current.base();
+        Iterator<Entry> overlay = current.overlay().iterator();
+        Iterator<Entry> merged = new Iterator<>() {
+            private int index = skipHidden(0);
+            private Entry nextOverlay = overlay.hasNext() ? overlay.next() : null;
+
+            private int skipHidden(int from) {
+                while (from < base.size() && current.hidden().contains(base.id(from))) {
+                    from++;
+                }
+                return from;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return index < base.size() || nextOverlay != null;
+            }
+
+            @Override
+            public Entry next() {
+                if (index < base.size() && (nextOverlay == null || base.compare(index, nextOverlay) < 0)) {
+                    Entry entry = base.entry(index);
+                    index = skipHidden(index + 1);
+                    return entry;
+                }
+                Entry entry = nextOverlay;
+                nextOverlay = overlay.hasNext() ? overlay.next() : null;
+                return entry;
+            }
+        };
+        state = new State(Snapshot.of(merged, base.size() + current.overlay().size()),
+                new ConcurrentSkipListSet<>(ENTRY_ORDER), new ConcurrentHashMap<>(), ConcurrentHashMap.newKeySet());
+    }
+
+    private static Entry nextMatching(Iterator<Entry> overlay, byte[] key) {
+        if (!overlay.hasNext()) {
+            return null;
+        }
+        Entry entry = overlay.next();
+        return startsWith(entry.key(), 0, entry.key().length, key) ? entry : null;
+    }
+
+    private static Entry entry(Anime anime) {
+        return new Entry(key(anime.getName()), anime.getId(), anime.getName());
+    }
+
+    static byte[] key(String value) {
+        if (value == null) {
+            return new byte[0];
+        }
+        String normalized = COMBINING_MARKS.matcher(Normalizer.normalize(value, Normalizer.Form.NFKD)).replaceAll("");
+        return normalized.toLowerCase(Locale.ROOT).trim().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static boolean startsWith(byte[] bytes, int from, int to, byte[] prefix) {
+        return to - from >= prefix.length && Arrays.equals(bytes, from, from + prefix.length, prefix, 0, prefix.length);
+    }
+
+    private record Entry(byte[] key, int id, String name) {
+    }
+
+    private record State(Snapshot base, NavigableSet<Entry> overlay, Map<Integer, Entry> overlayById, Set<Integer> hidden) {
+
+        static State of(Collection<Anime> animes) {
+            return new State(Snapshot.of(animes.stream()
+                    .filter(anime -> anime.getId() != null && anime.getName() != null)
+                    .map(AnimeSuggestIndex::entry)
+                    .sorted(ENTRY_ORDER)
+                    .iterator(), animes.size()), new ConcurrentSkipListSet<>(ENTRY_ORDER), new ConcurrentHashMap<>(),
+                    ConcurrentHashMap.newKeySet());
+        }
+
+        static State empty() {
+            return new State(Snapshot.of(List.<Entry>of().iterator(), 0), new ConcurrentSkipListSet<>(ENTRY_ORDER),
+                    new ConcurrentHashMap<>(), ConcurrentHashMap.newKeySet());
+        }
+    }
+
+    private record Snapshot(byte[] keys, int[] keyOffsets, byte[] names, int[] nameOffsets, int[] ids, int[] sortedIds) {
+
+        static Snapshot of(Iterator<Entry> sortedEntries, int expectedSize) {
+            ByteArrayOutputStream keys = new ByteArrayOutputStream();
+            ByteArrayOutputStream names = new ByteArrayOutputStream();
+            int[] keyOffsets = new int[expectedSize + 1];
+            int[] nameOffsets = new int[expectedSize + 1];
+            int[] ids = new int[expectedSize];
+            int size = 0;
+            while (sortedEntries.hasNext()) {
+                Entry entry = sortedEntries.next();
+                keys.writeBytes(entry.key());
+                names.writeBytes(entry.name().getBytes(StandardCharsets.UTF_8));
+                ids[size] = entry.id();
+                size++;
+                keyOffsets[size] = keys.size();
+                nameOffsets[size] = names.size();
+            }
+            int[] sortedIds = Arrays.copyOf(ids, size);
+            Arrays.sort(sortedIds);
+            return new Snapshot(keys.toByteArray(), Arrays.copyOf(keyOffsets, size + 1), names.toByteArray(),
+                    Arrays.copyOf(nameOffsets, size + 1), Arrays.copyOf(ids, size), sortedIds);
+        }
+
+        int size() {
+            return ids.length;
+        }
+
+        int id(int index) {
+            return ids[index];
+        }
+
+        boolean contains(int id) {
+            return Arrays.binarySearch(sortedIds, id) >= 0;
+        }
+
+        String name(int index) {
+            return new String(names, nameOffsets[index], nameOffsets[index + 1] - nameOffsets[index], StandardCharsets.UTF_8);
+        }
+
+        Entry entry(int index) {
+            return new Entry(Arrays.copyOfRange(keys, keyOffsets[index], keyOffsets[index + 1]), ids[index], name(index));
+        }
+
+        boolean startsWith(int index, byte[] prefix) {
+            return AnimeSuggestIndex.startsWith(keys, keyOffsets[index], keyOffsets[index + 1], prefix);
+        }
+
+        int compare(int index, Entry entry) {
+            int keyOrder = Arrays.compareUnsigned(keys, keyOffsets[index], keyOffsets[index + 1], entry.key(), 0, entry.key().length);
+            return keyOrder != 0 ? keyOrder : Integer.compare(ids[index], entry.id());
+        }
+
+        int lowerBound(byte[] key) {
+            int low = 0;
+            int high = size();
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (Arrays.compareUnsigned(keys, keyOffsets[middle], keyOffsets[middle + 1], key, 0, key.length) < 0) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        long footprintBytes() {
+            return keys.length + names.length + 4L * (keyOffsets.length + nameOffsets.length + ids.length + sortedIds.length);
+        }
+    }
+}
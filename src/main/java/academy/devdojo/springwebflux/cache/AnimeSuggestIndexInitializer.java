@@ -0,0 +1,28 @@
+package academy.devdojo.springwebflux.cache;
+
+import academy.devdojo.springwebflux.repository.AnimeRepository;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+@Slf4j
+@Component
+@AllArgsConstructor
+public class AnimeSuggestIndexInitializer {
+
+    private final AnimeRepository animeRepository;
+    private final AnimeSuggestIndex animeSuggestIndex;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildIndex() {
+        long started = System.nanoTime();
+        animeSuggestIndex.rebuild(Flux.defer(animeRepository::findAll).collectList())
+                .subscribe(null,
+                        error -> log.warn("Could not build the anime suggest index", error),
+                        () -> log.info("Anime suggest index built with {} names in {} ms, ~{} bytes",
+                                animeSuggestIndex.size(), (System.nanoTime() - started) / 1_000_000, animeSuggestIndex.estimatedFootprintBytes()));
+    }
+}
@@ -0,0 +1,18 @@
+package academy.devdojo.springwebflux.config;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+@Validated
+@ConfigurationProperties(prefix = "devdojo.anime")
+public record AnimeProperties(
+        @Positive @Max(10000) @DefaultValue("500") int batchSize,
+        @Positive @DefaultValue("256") int changeBufferSize,
+        @NotNull @DefaultValue("15s") Duration changeHeartbeat) {
+}
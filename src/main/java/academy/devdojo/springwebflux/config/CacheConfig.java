@@ -0,0 +1,50 @@
+package academy.devdojo.springwebflux.config;
+
+import academy.devdojo.springwebflux.domain.Anime;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.core.userdetails.UserDetails;
+
+@Configuration
+public class CacheConfig {
+
+    @Bean
+    public AsyncCache<String, UserDetails> principalCache(CacheProperties cacheProperties, MeterRegistry meterRegistry) {
+        AsyncCache<String, UserDetails> cache = builder(cacheProperties.principal()).buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache.synchronous(), "principal");
+        return cache;
+    }
+
+    @Bean
+    public Cache<String, Boolean> credentialCache(CacheProperties cacheProperties, MeterRegistry meterRegistry) {
+        Cache<String, Boolean> cache = builder(cacheProperties.credential()).build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "credential");
+        return cache;
+    }
+
+    @Bean
+    public AsyncCache<Integer, Anime> animeCache(CacheProperties cacheProperties, MeterRegistry meterRegistry) {
+        AsyncCache<Integer, Anime> cache = builder(cacheProperties.anime()).buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache.synchronous(), "anime");
+        return cache;
+    }
+
+    @Bean
+    public Cache<Integer, Boolean> missingAnimeCache(CacheProperties cacheProperties, MeterRegistry meterRegistry) {
+        Cache<Integer, Boolean> cache = builder(cacheProperties.missingAnime()).build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "missing-anime");
+        return cache;
+    }
+
+    private Caffeine<Object, Object> builder(CacheProperties.Spec spec) {
+        return Caffeine.newBuilder()
+                .maximumSize(spec.maximumSize())
+                .expireAfterWrite(spec.ttl())
+                .recordStats();
+    }
+}
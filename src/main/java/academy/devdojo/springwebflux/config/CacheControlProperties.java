@@ -0,0 +1,25 @@
+package academy.devdojo.springwebflux.config;
+
+import jakarta.validation.constraints.NotNull;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.http.CacheControl;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+@Validated
+@ConfigurationProperties(prefix = "devdojo.http.cache-control")
+public record CacheControlProperties(
+        @NotNull @DefaultValue("0s") Duration maxAge,
+        @DefaultValue("true") boolean cachePrivate,
+        @DefaultValue("true") boolean mustRevalidate) {
+
+    public CacheControl toCacheControl() {
+        CacheControl cacheControl = CacheControl.maxAge(maxAge);
+        if (cachePrivate) {
+            cacheControl = cacheControl.cachePrivate();
+        }
+        return mustRevalidate ? cacheControl.mustRevalidate() : cacheControl;
+    }
+}
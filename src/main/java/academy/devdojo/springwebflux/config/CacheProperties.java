@@ -0,0 +1,24 @@
+package academy.devdojo.springwebflux.config;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+@Validated
+@ConfigurationProperties(prefix = "devdojo.cache")
+public record CacheProperties(
+        @Valid @DefaultValue Spec principal,
+        @Valid @DefaultValue Spec credential,
+        @Valid @DefaultValue Spec anime,
+        @Valid @DefaultValue Spec missingAnime) {
+
+    public record Spec(
+            @Positive @DefaultValue("10000") long maximumSize,
+            @NotNull @DefaultValue("5m") Duration ttl) {
+    }
+}
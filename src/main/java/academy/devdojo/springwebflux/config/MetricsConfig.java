@@ -0,0 +1,85 @@
+package academy.devdojo.springwebflux.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.Scannable;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToLongFunction;
+
+@Configuration
+public class MetricsConfig {
+
+    private static final String SCHEDULER_METRICS_KEY = "devdojo.scheduler.metrics";
+
+    @Bean
+    public MeterBinder reactorSchedulerMetrics() {
+        Map<String, SchedulerExecutors> schedulers = new ConcurrentHashMap<>();
+        return meterRegistry -> Schedulers.addExecutorServiceDecorator(SCHEDULER_METRICS_KEY, (scheduler, executorService) -> {
+            if (executorService instanceof ThreadPoolExecutor executor) {
+                String name = Scannable.from(scheduler).scanOrDefault(Scannable.Attr.NAME, scheduler.toString());
+                schedulers.computeIfAbsent(name, key -> new SchedulerExecutors(meterRegistry, key)).add(executor);
+            }
+            return executorService;
+        });
+    }
+
+    // Reactor creates and retires executors as workers come and go, so meters are per scheduler and sum its live executors
+    private static final class SchedulerExecutors {
+
+        private final Set<ThreadPoolExecutor> executors = ConcurrentHashMap.newKeySet();
+        private final AtomicLong retiredCompleted = new AtomicLong();
+
+        private SchedulerExecutors(MeterRegistry meterRegistry, String name) {
+            Tags tags = Tags.of("name", name);
+            Gauge.builder("executor.active", this, scheduler -> scheduler.sum(ThreadPoolExecutor::getActiveCount))
+                    .tags(tags)
+                    .description("The approximate number of threads that are actively executing tasks")
+                    .register(meterRegistry);
+            Gauge.builder("executor.queued", this, scheduler -> scheduler.sum(executor -> executor.getQueue().size()))
+                    .tags(tags)
+                    .description("The approximate number of tasks that are queued for execution")
+                    .register(meterRegistry);
+            Gauge.builder("executor.pool.size", this, scheduler -> scheduler.sum(ThreadPoolExecutor::getPoolSize))
+                    .tags(tags)
+                    .description("The current number of threads in the pool")
+                    .register(meterRegistry);
+            FunctionCounter.builder("executor.completed", this, SchedulerExecutors::completed)
+                    .tags(tags)
+                    .description("The approximate total number of tasks that have completed execution")
+                    .register(meterRegistry);
+        }
+
+        private void add(ThreadPoolExecutor executor) {
+            prune();
+            executors.add(executor);
+        }
+
+        private double sum(ToLongFunction<ThreadPoolExecutor> metric) {
+            prune();
+            return executors.stream().mapToLong(metric).sum();
+        }
+
+        private double completed() {
+            return sum(ThreadPoolExecutor::getCompletedTaskCount) + retiredCompleted.get();
+        }
+
+        private void prune() {
+            for (ThreadPoolExecutor executor : executors) {
+                if (executor.isTerminated() && executors.remove(executor)) {
+                    retiredCompleted.addAndGet(executor.getCompletedTaskCount());
+                }
+            }
+        }
+    }
+}
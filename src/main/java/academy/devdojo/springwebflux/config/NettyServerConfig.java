@@ -0,0 +1,34 @@
+package academy.devdojo.springwebflux.config;
+
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import io.netty.channel.ChannelOption;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.netty.NettyServerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.netty.resources.LoopResources;
+
+@Configuration
+@ConditionalOnProperty(prefix = "devdojo.server", name = "enabled", havingValue = "true")
+public class NettyServerConfig {
+
+    @Bean(destroyMethod = "dispose")
+    public LoopResources serverLoopResources(NettyServerProperties nettyServerProperties) {
+        int workers = nettyServerProperties.eventLoopThreads() > 0
+                ? nettyServerProperties.eventLoopThreads()
+                : LoopResources.DEFAULT_IO_WORKER_COUNT;
+        return LoopResources.create("anime-http", workers, true);
+    }
+
+    @Bean
+    public NettyServerCustomizer nettyServerTuning(LoopResources serverLoopResources, NettyServerProperties nettyServerProperties) {
+        ByteBufAllocator allocator = nettyServerProperties.pooledBuffers() ? PooledByteBufAllocator.DEFAULT : UnpooledByteBufAllocator.DEFAULT;
+        return httpServer -> httpServer
+                .runOn(serverLoopResources, nettyServerProperties.preferNative())
+                .option(ChannelOption.ALLOCATOR, allocator)
+                .childOption(ChannelOption.ALLOCATOR, allocator)
+                .http2Settings(settings -> settings.maxConcurrentStreams(nettyServerProperties.http2MaxConcurrentStreams()));
+    }
+}
@@ -0,0 +1,17 @@
+package academy.devdojo.springwebflux.config;
+
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+@Validated
+@ConfigurationProperties(prefix = "devdojo.server")
+public record NettyServerProperties(
+        @DefaultValue("false") boolean enabled,
+        @PositiveOrZero @DefaultValue("0") int eventLoopThreads,
+        @DefaultValue("true") boolean preferNative,
+        @DefaultValue("true") boolean pooledBuffers,
+        @Positive @DefaultValue("128") long http2MaxConcurrentStreams) {
+}
@@ -0,0 +1,14 @@
+package academy.devdojo.springwebflux.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.scheduler.Scheduler;
+
+@Configuration
+public class OffloadConfig {
+
+    @Bean(destroyMethod = "dispose")
+    public Scheduler offloadScheduler(OffloadProperties offloadProperties) {
+        return offloadProperties.newScheduler();
+    }
+}
@@ -0,0 +1,41 @@
+package academy.devdojo.springwebflux.config;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Validated
+@ConfigurationProperties(prefix = "devdojo.offload")
+public record OffloadProperties(
+        @NotNull @DefaultValue("bounded-elastic") Mode mode,
+        @Positive @DefaultValue("64") int maxThreads,
+        @Positive @DefaultValue("100000") int maxQueued) {
+
+    public Scheduler newScheduler() {
+        return switch (mode) {
+            case EVENT_LOOP -> Schedulers.immediate();
+            case BOUNDED_ELASTIC -> Schedulers.newBoundedElastic(maxThreads, maxQueued, "offload");
+            case VIRTUAL_THREADS -> Schedulers.fromExecutorService(virtualThreadPerTaskExecutor(), "offload-virtual");
+        };
+    }
+
+    // Looked up reflectively so the build can stay on the Java 17 toolchain
+    private static ExecutorService virtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("devdojo.offload.mode=virtual-threads needs a Java 21 runtime", e);
+        }
+    }
+
+    public enum Mode {
+        EVENT_LOOP, BOUNDED_ELASTIC, VIRTUAL_THREADS
+    }
+}
@@ -0,0 +1,37 @@
+package academy.devdojo.springwebflux.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import io.r2dbc.spi.Option;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class R2dbcPoolConfig {
+
+    private static final String POOL_NAME = "anime";
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionPool connectionFactory(R2dbcProperties r2dbcProperties, R2dbcPoolProperties poolProperties, MeterRegistry meterRegistry) {
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(r2dbcProperties.getUrl()).mutate()
+                .option(ConnectionFactoryOptions.USER, r2dbcProperties.getUsername())
+                .option(ConnectionFactoryOptions.PASSWORD, r2dbcProperties.getPassword())
+                .option(Option.valueOf("preparedStatementCacheQueries"), poolProperties.preparedStatementCacheSize())
+                .build();
+
+        ConnectionPoolConfiguration configuration = ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+                .name(POOL_NAME)
+                .initialSize(poolProperties.initialSize())
+                .maxSize(poolProperties.maxSize())
+                .maxIdleTime(poolProperties.maxIdleTime())
+                .maxAcquireTime(poolProperties.maxAcquireTime())
+                .validationQuery(poolProperties.validationQuery())
+                .metricsRecorder(new R2dbcPoolMetricsRecorder(meterRegistry, POOL_NAME))
+                .build();
+        return new ConnectionPool(configuration);
+    }
+}
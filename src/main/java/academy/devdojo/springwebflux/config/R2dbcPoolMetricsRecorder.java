@@ -0,0 +1,65 @@
+package academy.devdojo.springwebflux.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import reactor.pool.PoolMetricsRecorder;
+
+import java.util.concurrent.TimeUnit;
+
+public class R2dbcPoolMetricsRecorder implements PoolMetricsRecorder {
+
+    private final Timer acquireSuccess;
+    private final Timer acquireFailure;
+
+    public R2dbcPoolMetricsRecorder(MeterRegistry meterRegistry, String poolName) {
+        this.acquireSuccess = acquireTimer(meterRegistry, poolName, "success");
+        this.acquireFailure = acquireTimer(meterRegistry, poolName, "failure");
+    }
+
+    private static Timer acquireTimer(MeterRegistry meterRegistry, String poolName, String outcome) {
+        return Timer.builder("r2dbc.pool.acquire")
+                .description("Time to acquire a connection from the R2DBC pool")
+                .tag("name", poolName)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void recordAllocationSuccessAndLatency(long latencyMs) {
+        acquireSuccess.record(latencyMs, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void recordAllocationFailureAndLatency(long latencyMs) {
+        acquireFailure.record(latencyMs, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void recordResetLatency(long latencyMs) {
+    }
+
+    @Override
+    public void recordDestroyLatency(long latencyMs) {
+    }
+
+    @Override
+    public void recordRecycled() {
+    }
+
+    @Override
+    public void recordLifetimeDuration(long millisecondsSinceAllocation) {
+    }
+
+    @Override
+    public void recordIdleTime(long millisecondsIdle) {
+    }
+
+    @Override
+    public void recordSlowPath() {
+    }
+
+    @Override
+    public void recordFastPath() {
+    }
+}
@@ -0,0 +1,28 @@
+package academy.devdojo.springwebflux.config;
+
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+@Validated
+@ConfigurationProperties(prefix = "devdojo.r2dbc.pool")
+public record R2dbcPoolProperties(
+        @PositiveOrZero @DefaultValue("10") int initialSize,
+        @Positive @DefaultValue("20") int maxSize,
+        @NotNull @DefaultValue("30m") Duration maxIdleTime,
+        @NotNull @DefaultValue("5s") Duration maxAcquireTime,
+        @NotBlank @DefaultValue("SELECT 1") String validationQuery,
+        @DefaultValue("256") int preparedStatementCacheSize) {
+
+    @AssertTrue(message = "initial-size must not be greater than max-size")
+    public boolean isInitialSizeWithinMaxSize() {
+        return initialSize <= maxSize;
+    }
+}
@@ -0,0 +1,28 @@
+package academy.devdojo.springwebflux.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.config.annotation.rsocket.EnableRSocketSecurity;
+import org.springframework.security.config.annotation.rsocket.RSocketSecurity;
+import org.springframework.security.rsocket.core.PayloadSocketAcceptorInterceptor;
+
+@Configuration
+@EnableRSocketSecurity
+public class RSocketSecurityConfig {
+
+    @Bean
+    public PayloadSocketAcceptorInterceptor rsocketInterceptor(RSocketSecurity rsocket, ReactiveAuthenticationManager authenticationManager) {
+        return rsocket
+                .authorizePayload(authorize -> authorize
+                        .setup().authenticated()
+                        .route("animes.find-by-id").hasRole("USER")
+                        .route("animes.stream").hasRole("ADMIN")
+                        .route("animes.import").hasRole("ADMIN")
+                        .route("animes.delete").hasRole("ADMIN")
+                        .anyRequest().authenticated()
+                        .anyExchange().permitAll())
+                .simpleAuthentication(simple -> simple.authenticationManager(authenticationManager))
+                .build();
+    }
+}
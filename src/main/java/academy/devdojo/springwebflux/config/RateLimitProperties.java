@@ -0,0 +1,32 @@
+package academy.devdojo.springwebflux.config;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+@Validated
+@ConfigurationProperties(prefix = "devdojo.rate-limit")
+public record RateLimitProperties(
+        @DefaultValue("true") boolean enabled,
+        @NotBlank @DefaultValue("/animes") String pathPrefix,
+        @Positive @DefaultValue("100000") long maxPrincipals,
+        @NotNull @DefaultValue("10m") Duration principalIdleTime,
+        @Valid @DefaultValue Limit read,
+        @Valid @DefaultValue Limit write,
+        @Valid @DefaultValue Limit batch,
+        @Valid @DefaultValue Limit stream) {
+
+    public record Limit(
+            @Positive @DefaultValue("100") double principalRate,
+            @Positive @DefaultValue("200") int principalBurst,
+            @Positive @DefaultValue("1000") double routeRate,
+            @Positive @DefaultValue("2000") int routeBurst,
+            @Positive @DefaultValue("32") int maxConcurrent) {
+    }
+}
@@ -1,6 +1,11 @@
 package academy.devdojo.springwebflux.config;
 
+import academy.devdojo.springwebflux.security.CachingPasswordEncoder;
+import academy.devdojo.springwebflux.security.RoleAuthorizationManager;
+import academy.devdojo.springwebflux.security.TokenSecurityContextRepository;
 import academy.devdojo.springwebflux.service.DevDojoUserDetailsService;
+import com.github.benmanes.caffeine.cache.Cache;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -15,34 +20,53 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.factory.PasswordEncoderFactories;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+import reactor.core.scheduler.Scheduler;
 
 @Configuration
 @EnableWebFluxSecurity
 @EnableReactiveMethodSecurity
 public class SecurityConfig {
 
+    private static final RoleAuthorizationManager ADMIN = RoleAuthorizationManager.hasRole("ADMIN");
+    private static final RoleAuthorizationManager USER = RoleAuthorizationManager.hasRole("USER");
+
     @Bean
-    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http) {
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http,
+                                                         ObjectProvider<TokenSecurityContextRepository> tokenSecurityContextRepository) {
+        tokenSecurityContextRepository.ifAvailable(http::securityContextRepository);
         return http
                 .csrf().disable()
                 .authorizeExchange()
-                    .pathMatchers(HttpMethod.POST, "/animes/**").hasRole("ADMIN")
-                    .pathMatchers(HttpMethod.DELETE, "/animes/**").hasRole("ADMIN")
-                    .pathMatchers(HttpMethod.PUT, "/animes/**").hasRole("ADMIN")
-                    .pathMatchers(HttpMethod.GET, "/animes/**").hasRole("USER")
+                    .pathMatchers(HttpMethod.POST, "/animes/**").access(ADMIN)
+                    .pathMatchers(HttpMethod.DELETE, "/animes/**").access(ADMIN)
+                    .pathMatchers(HttpMethod.PUT, "/animes/**").access(ADMIN)
+                    .pathMatchers(HttpMethod.PATCH, "/animes/**").access(ADMIN)
+                    .pathMatchers(HttpMethod.GET, "/animes/**").access(USER)
                     .pathMatchers("/webjars/**", "/v3/api-docs/**", "/swagger-ui.html").permitAll()
+                    .pathMatchers(HttpMethod.GET, "/actuator/health", "/actuator/prometheus").permitAll()
                 .anyExchange().authenticated()
                 .and()
                     .formLogin()
                 .and()
                     .httpBasic()
+                    .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
                 .and()
                     .build();
     }
 
     @Bean
-    ReactiveAuthenticationManager authenticationManager(DevDojoUserDetailsService devDojoUserDetailsService) {
-        return new UserDetailsRepositoryReactiveAuthenticationManager(devDojoUserDetailsService);
+    ReactiveAuthenticationManager authenticationManager(DevDojoUserDetailsService devDojoUserDetailsService, PasswordEncoder passwordEncoder,
+                                                        Scheduler offloadScheduler) {
+        UserDetailsRepositoryReactiveAuthenticationManager authenticationManager = new UserDetailsRepositoryReactiveAuthenticationManager(devDojoUserDetailsService);
+        authenticationManager.setPasswordEncoder(passwordEncoder);
+        authenticationManager.setScheduler(offloadScheduler);
+        return authenticationManager;
+    }
+
+    @Bean
+    PasswordEncoder passwordEncoder(Cache<String, Boolean> credentialCache) {
+        return new CachingPasswordEncoder(PasswordEncoderFactories.createDelegatingPasswordEncoder(), credentialCache);
     }
 
 //    @Bean
@@ -0,0 +1,16 @@
+package academy.devdojo.springwebflux.config;
+
+import jakarta.validation.constraints.NotNull;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+@Validated
+@ConfigurationProperties(prefix = "devdojo.security.token")
+public record TokenProperties(
+        @DefaultValue("false") boolean enabled,
+        String secret,
+        @NotNull @DefaultValue("1h") Duration ttl) {
+}
@@ -1,6 +1,15 @@
 package academy.devdojo.springwebflux.controller;
 
+import academy.devdojo.springwebflux.config.CacheControlProperties;
 import academy.devdojo.springwebflux.domain.Anime;
+import academy.devdojo.springwebflux.domain.AnimeChange;
+import academy.devdojo.springwebflux.domain.AnimePage;
+import academy.devdojo.springwebflux.domain.BatchOutcome;
+import academy.devdojo.springwebflux.domain.ImportProgress;
+import academy.devdojo.springwebflux.exception.DomainException;
+import academy.devdojo.springwebflux.notification.AnimeChangeFeed;
+import academy.devdojo.springwebflux.service.AnimeBatchService;
+import academy.devdojo.springwebflux.service.AnimeImportService;
 import academy.devdojo.springwebflux.service.AnimeService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.enums.SecuritySchemeType;
@@ -9,7 +18,11 @@ import io.swagger.v3.oas.annotations.security.SecurityScheme;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import reactor.core.publisher.Flux;
@@ -28,23 +41,82 @@ import java.util.List;
 )
 public class AnimeController {
     private AnimeService animeService;
+    private AnimeImportService animeImportService;
+    private AnimeBatchService animeBatchService;
+    private AnimeChangeFeed animeChangeFeed;
+    private CacheControlProperties cacheControlProperties;
 
-    @GetMapping
+    @GetMapping(produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
     @ResponseStatus(HttpStatus.OK)
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(
         tags = {"anime"},
         security = @SecurityRequirement(name = "Basic Authentication"))
-    public Flux<Anime> listAll() {
-        return animeService.findAll();
+    public Flux<Anime> streamAll() {
+        return animeService.streamAll();
     }
+
+    @GetMapping(path = "page")
+    @ResponseStatus(HttpStatus.OK)
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(
+        tags = {"anime"},
+        security = @SecurityRequirement(name = "Basic Authentication"))
+    public Mono<AnimePage> findPage(@RequestParam(defaultValue = "0") int after,
+                                    @RequestParam(defaultValue = "50") int limit) {
+        return animeService.findPage(after, limit);
+    }
+
+    @GetMapping(path = "search")
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(
+            tags = {"anime"},
+            security = @SecurityRequirement(name = "Basic Authentication"))
+    public Flux<Anime> search(@RequestParam String q,
+                              @RequestParam(defaultValue = "0") int page,
+                              @RequestParam(defaultValue = "20") int limit) {
+        return animeService.search(q, page, limit);
+    }
+
+    @GetMapping(path = "suggest")
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(
+            tags = {"anime"},
+            security = @SecurityRequirement(name = "Basic Authentication"))
+    public Flux<Anime> suggest(@RequestParam String prefix,
+                               @RequestParam(defaultValue = "10") int limit) {
+        return animeService.suggest(prefix, limit);
+    }
+
+    @GetMapping(path = "changes", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(
+            tags = {"anime"},
+            security = @SecurityRequirement(name = "Basic Authentication"))
+    public Flux<String> changes() {
+        return animeChangeFeed.lines();
+    }
+
+    @GetMapping(path = "changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(
+            tags = {"anime"},
+            security = @SecurityRequirement(name = "Basic Authentication"))
+    public Flux<ServerSentEvent<AnimeChange>> changeEvents() {
+        return animeChangeFeed.events();
+    }
+
     @GetMapping(path = "{id}")
     @ResponseStatus(HttpStatus.OK)
     @Operation(
             tags = {"anime"},
             security = @SecurityRequirement(name = "Basic Authentication"))
-    public Mono<Anime> findById(@PathVariable int id) {
-        return animeService.findById(id);
+    public Mono<ResponseEntity<Anime>> findById(@PathVariable int id) {
+        return animeService.findById(id)
+                .map(anime -> ResponseEntity.ok()
+                        .eTag(eTag(anime))
+                        .cacheControl(cacheControlProperties.toCacheControl())
+                        .body(anime));
     }
 
     @PostMapping
@@ -66,13 +138,60 @@ public class AnimeController {
         return animeService.saveAll(animes);
     }
 
+    @PostMapping(path = "import", consumes = MediaType.APPLICATION_NDJSON_VALUE, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(
+            tags = {"anime"},
+            security = @SecurityRequirement(name = "Basic Authentication"))
+    public Flux<ImportProgress> importAll(@RequestBody Flux<Anime> animes) {
+        return animeImportService.importAll(animes);
+    }
+
+    @PatchMapping(path = "batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(
+            tags = {"anime"},
+            security = @SecurityRequirement(name = "Basic Authentication"))
+    public Flux<BatchOutcome> updateBatch(@RequestBody List<Anime> animes) {
+        return animeBatchService.updateAll(animes);
+    }
+
+    @PatchMapping(path = "batch", consumes = MediaType.APPLICATION_NDJSON_VALUE, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(
+            tags = {"anime"},
+            security = @SecurityRequirement(name = "Basic Authentication"))
+    public Flux<BatchOutcome> updateBatchStream(@RequestBody Flux<Anime> animes) {
+        return animeBatchService.updateAll(animes);
+    }
+
+    @DeleteMapping(path = "batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(
+            tags = {"anime"},
+            security = @SecurityRequirement(name = "Basic Authentication"))
+    public Flux<BatchOutcome> deleteBatch(@RequestBody List<Integer> ids) {
+        return animeBatchService.deleteAll(ids);
+    }
+
+    @DeleteMapping(path = "batch", consumes = MediaType.APPLICATION_NDJSON_VALUE, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(
+            tags = {"anime"},
+            security = @SecurityRequirement(name = "Basic Authentication"))
+    public Flux<BatchOutcome> deleteBatchStream(@RequestBody Flux<Integer> ids) {
+        return animeBatchService.deleteAll(ids);
+    }
+
     @PutMapping(path = "{id}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
     @Operation(
             tags = {"anime"},
             security = @SecurityRequirement(name = "Basic Authentication"))
-    public Mono<Void> update(@PathVariable int id, @Valid @RequestBody Anime anime) {
-        return animeService.update(anime.withId(id));
+    public Mono<Void> update(@PathVariable int id, @Valid @RequestBody Anime anime,
+                             @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Integer version = ifMatch == null ? anime.getVersion() : versionOf(id, ifMatch);
+        return animeService.update(anime.withId(id).withVersion(version));
     }
 
     @DeleteMapping(path = "{id}")
@@ -80,7 +199,28 @@ public class AnimeController {
     @Operation(
             tags = {"anime"},
             security = @SecurityRequirement(name = "Basic Authentication"))
-    public Mono<Void> delete(@PathVariable int id) {
-        return animeService.delete(id);
+    public Mono<Void> delete(@PathVariable int id,
+                             @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return animeService.delete(id, ifMatch == null ? null : versionOf(id, ifMatch));
+    }
+
+    private String eTag(Anime anime) {
+        return anime.getId() + "-" + anime.getVersion();
+    }
+
+    private Integer versionOf(int id, String ifMatch) {
+        String eTag = ifMatch.trim();
+        if ("*".equals(eTag)) {
+            return null;
+        }
+        String prefix = "\"" + id + "-";
+        if (!eTag.startsWith(prefix) || !eTag.endsWith("\"")) {
+            throw DomainException.IF_MATCH_MISMATCH;
+        }
+        try {
+            return Integer.valueOf(eTag.substring(prefix.length(), eTag.length() - 1));
+        } catch (NumberFormatException e) {
+            throw DomainException.IF_MATCH_MISMATCH;
+        }
     }
 }
@@ -0,0 +1,41 @@
+package academy.devdojo.springwebflux.controller;
+
+import academy.devdojo.springwebflux.config.CacheControlProperties;
+import academy.devdojo.springwebflux.domain.Anime;
+import academy.devdojo.springwebflux.service.AnimeService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import lombok.AllArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("animes")
+@AllArgsConstructor
+@ConditionalOnProperty(prefix = "devdojo.anime.listing-cache", name = "enabled", havingValue = "false", matchIfMissing = true)
+public class AnimeListingController {
+    private AnimeService animeService;
+    private CacheControlProperties cacheControlProperties;
+
+    @GetMapping
+    @ResponseStatus(HttpStatus.OK)
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(
+        tags = {"anime"},
+        security = @SecurityRequirement(name = "Basic Authentication"))
+    public Mono<ResponseEntity<Flux<Anime>>> listAll() {
+        return animeService.catalogVersion()
+                .map(version -> ResponseEntity.ok()
+                        .eTag("animes-" + version)
+                        .cacheControl(cacheControlProperties.toCacheControl())
+                        .body(animeService.findAll()));
+    }
+}
@@ -0,0 +1,43 @@
+package academy.devdojo.springwebflux.controller;
+
+import academy.devdojo.springwebflux.domain.Anime;
+import academy.devdojo.springwebflux.domain.ImportProgress;
+import academy.devdojo.springwebflux.service.AnimeImportService;
+import academy.devdojo.springwebflux.service.AnimeService;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.stereotype.Controller;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Controller
+@MessageMapping("animes")
+@Slf4j
+@AllArgsConstructor
+public class AnimeRSocketController {
+    private AnimeService animeService;
+    private AnimeImportService animeImportService;
+
+    @MessageMapping("find-by-id")
+    public Mono<Anime> findById(int id) {
+        return animeService.findById(id);
+    }
+
+    @MessageMapping("stream")
+    public Flux<Anime> streamAll() {
+        return animeService.streamAll();
+    }
+
+    @MessageMapping("import")
+    public Flux<ImportProgress> importAll(Flux<Anime> animes) {
+        return animeImportService.importAll(animes);
+    }
+
+    @MessageMapping("delete")
+    public Mono<Void> delete(int id) {
+        return animeService.delete(id)
+                .doOnError(error -> log.warn("Fire-and-forget delete of anime {} failed", id, error))
+                .onErrorResume(error -> Mono.empty());
+    }
+}
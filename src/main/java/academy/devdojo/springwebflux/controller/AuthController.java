@@ -0,0 +1,32 @@
+package academy.devdojo.springwebflux.controller;
+
+import academy.devdojo.springwebflux.domain.Token;
+import academy.devdojo.springwebflux.security.TokenService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import lombok.AllArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("auth")
+@AllArgsConstructor
+@ConditionalOnProperty(prefix = "devdojo.security.token", name = "enabled", havingValue = "true")
+public class AuthController {
+    private TokenService tokenService;
+
+    @PostMapping("token")
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(
+            tags = {"auth"},
+            security = @SecurityRequirement(name = "Basic Authentication"))
+    public Mono<Token> token(Authentication authentication) {
+        return Mono.just(tokenService.issue(authentication));
+    }
+}
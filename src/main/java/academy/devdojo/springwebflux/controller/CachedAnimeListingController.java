@@ -0,0 +1,45 @@
+package academy.devdojo.springwebflux.controller;
+
+import academy.devdojo.springwebflux.cache.AnimeListingCache;
+import academy.devdojo.springwebflux.config.CacheControlProperties;
+import academy.devdojo.springwebflux.service.AnimeService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import lombok.AllArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+// Serves the listing from the pre-encoded JSON in AnimeListingCache; replaces AnimeListingController when the cache is on
+@RestController
+@RequestMapping("animes")
+@AllArgsConstructor
+@ConditionalOnProperty(prefix = "devdojo.anime.listing-cache", name = "enabled", havingValue = "true")
+public class CachedAnimeListingController {
+    private AnimeService animeService;
+    private AnimeListingCache animeListingCache;
+    private CacheControlProperties cacheControlProperties;
+
+    @GetMapping
+    @ResponseStatus(HttpStatus.OK)
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(
+        tags = {"anime"},
+        security = @SecurityRequirement(name = "Basic Authentication"))
+    public Mono<ResponseEntity<byte[]>> listAll() {
+        return animeService.catalogVersion()
+                .flatMap(version -> animeListingCache.get(version, animeService::findAll)
+                        .map(json -> ResponseEntity.ok()
+                                .eTag("animes-" + version)
+                                .cacheControl(cacheControlProperties.toCacheControl())
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .body(json)));
+    }
+}
@@ -4,6 +4,7 @@ import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
 import lombok.*;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.relational.core.mapping.Table;
 
 @Data
@@ -18,4 +19,6 @@ public class Anime {
     @NotNull
     @NotEmpty(message = "The name of anime cannoy be empty")
     private String name;
+    @Version
+    private Integer version;
 }
@@ -0,0 +1,8 @@
+package academy.devdojo.springwebflux.domain;
+
+public record AnimeChange(Type type, int id, String name, Integer version) {
+
+    public enum Type {
+        INSERT, UPDATE, DELETE
+    }
+}
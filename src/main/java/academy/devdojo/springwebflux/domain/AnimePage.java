@@ -0,0 +1,6 @@
+package academy.devdojo.springwebflux.domain;
+
+import java.util.List;
+
+public record AnimePage(List<Anime> content, Integer next) {
+}
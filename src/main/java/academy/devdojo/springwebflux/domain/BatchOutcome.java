@@ -0,0 +1,8 @@
+package academy.devdojo.springwebflux.domain;
+
+public record BatchOutcome(Integer id, Status status) {
+
+    public enum Status {
+        UPDATED, DELETED, NOT_FOUND, CONFLICT, INVALID, COMMITTED
+    }
+}
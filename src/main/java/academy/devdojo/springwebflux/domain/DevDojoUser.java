@@ -1,24 +1,32 @@
 package academy.devdojo.springwebflux.domain;
 
-import lombok.AllArgsConstructor;
+import academy.devdojo.springwebflux.security.GrantedAuthorities;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.PersistenceCreator;
+import org.springframework.data.annotation.Transient;
 import org.springframework.data.relational.core.mapping.Table;
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
-import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Data
-@AllArgsConstructor
 @NoArgsConstructor
 @Table("devdojo_user")
 public class DevDojoUser implements UserDetails {
 
+    private static final String ROLE_PREFIX = "ROLE_";
+
     @Id
     private Integer id;
     private String name;
@@ -26,11 +34,46 @@ public class DevDojoUser implements UserDetails {
     private String password;
     private String authorities;
 
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private List<GrantedAuthority> grantedAuthorities = List.of();
+
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private Set<String> roles = Set.of();
+
+    @PersistenceCreator
+    public DevDojoUser(Integer id, String name, String username, String password, String authorities) {
+        this.id = id;
+        this.name = name;
+        this.username = username;
+        this.password = password;
+        setAuthorities(authorities);
+    }
+
+    public void setAuthorities(String authorities) {
+        this.authorities = authorities;
+        this.grantedAuthorities = GrantedAuthorities.parse(authorities);
+        this.roles = grantedAuthorities.stream()
+                .map(GrantedAuthority::getAuthority)
+                .filter(authority -> authority.startsWith(ROLE_PREFIX))
+                .map(authority -> authority.substring(ROLE_PREFIX.length()))
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        return Arrays.stream(authorities.split(","))
-                .map(SimpleGrantedAuthority::new)
-                .collect(Collectors.toList());
+        return grantedAuthorities;
+    }
+
+    public boolean hasRole(String role) {
+        return roles.contains(role);
     }
 
     @Override
@@ -0,0 +1,4 @@
+package academy.devdojo.springwebflux.domain;
+
+public record ImportError(long line, String message) {
+}
@@ -0,0 +1,6 @@
+package academy.devdojo.springwebflux.domain;
+
+import java.util.List;
+
+public record ImportProgress(long processed, long imported, List<ImportError> errors) {
+}
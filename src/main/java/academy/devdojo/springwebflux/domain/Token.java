@@ -0,0 +1,4 @@
+package academy.devdojo.springwebflux.domain;
+
+public record Token(String accessToken, String tokenType, long expiresIn) {
+}
@@ -0,0 +1,49 @@
+package academy.devdojo.springwebflux.exception;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpStatus;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public final class DomainException extends RuntimeException {
+
+    public static final DomainException ANIME_NOT_FOUND = new DomainException(HttpStatus.NOT_FOUND, "Anime not found");
+    public static final DomainException ANIME_CONFLICT = new DomainException(HttpStatus.CONFLICT, "Anime was modified concurrently");
+    public static final DomainException INVALID_LIMIT = new DomainException(HttpStatus.BAD_REQUEST, "Invalid limit");
+    public static final DomainException INVALID_SEARCH = new DomainException(HttpStatus.BAD_REQUEST, "Invalid search");
+    public static final DomainException INVALID_NAME = new DomainException(HttpStatus.BAD_REQUEST, "Invalid Name");
+    public static final DomainException IF_MATCH_MISMATCH = new DomainException(HttpStatus.PRECONDITION_FAILED, "If-Match does not match this anime");
+
+    private final HttpStatus status;
+    private final byte[] body;
+
+    // Shared instances must not record a stack trace or collect suppressed exceptions added by checkpoints
+    private DomainException(HttpStatus status, String reason) {
+        super(status.value() + " " + status.name() + " \"" + reason + "\"", null, false, false);
+        this.status = status;
+        this.body = encode(status, getMessage());
+    }
+
+    public HttpStatus getStatus() {
+        return status;
+    }
+
+    public byte[] getBody() {
+        return body;
+    }
+
+    private static byte[] encode(HttpStatus status, String message) {
+        Map<String, Object> attributes = new LinkedHashMap<>();
+        attributes.put("status", status.value());
+        attributes.put("error", status.getReasonPhrase());
+        attributes.put("message", message);
+        attributes.put("developerMessage", "A ResponseStatusException Happened");
+        try {
+            return new ObjectMapper().writeValueAsBytes(attributes);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
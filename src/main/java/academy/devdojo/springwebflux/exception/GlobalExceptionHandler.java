@@ -1,5 +1,7 @@
 package academy.devdojo.springwebflux.exception;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.boot.autoconfigure.web.WebProperties;
 import org.springframework.boot.autoconfigure.web.reactive.error.AbstractErrorWebExceptionHandler;
 import org.springframework.boot.web.error.ErrorAttributeOptions;
@@ -8,14 +10,17 @@ import org.springframework.context.ApplicationContext;
 import org.springframework.core.annotation.Order;
 import org.springframework.http.MediaType;
 import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 import org.springframework.web.reactive.function.BodyInserters;
 import org.springframework.web.reactive.function.server.*;
+import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static org.springframework.boot.web.error.ErrorAttributeOptions.*;
 
@@ -27,9 +32,32 @@ public class GlobalExceptionHandler extends AbstractErrorWebExceptionHandler {
 //        this.setMessageWriters(serverCodecConfigurer.getWriters());
 //    }
 
-    public GlobalExceptionHandler(ErrorAttributes errorAttributes, WebProperties webProperties, ApplicationContext applicationContext, ServerCodecConfigurer serverCodecConfigurer) {
+    private final MeterRegistry meterRegistry;
+    private final Map<DomainException, Counter> domainErrorCounters = new ConcurrentHashMap<>();
+
+    public GlobalExceptionHandler(ErrorAttributes errorAttributes, WebProperties webProperties, ApplicationContext applicationContext, ServerCodecConfigurer serverCodecConfigurer,
+                                  MeterRegistry meterRegistry) {
         super(errorAttributes, webProperties.getResources(), applicationContext);
         this.setMessageWriters(serverCodecConfigurer.getWriters());
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Mono<Void> handle(ServerWebExchange exchange, Throwable throwable) {
+        if (!(throwable instanceof DomainException domainException) || exchange.getResponse().isCommitted()) {
+            return super.handle(exchange, throwable);
+        }
+        domainErrorCounters.computeIfAbsent(domainException, this::domainErrorCounter).increment();
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(domainException.getStatus());
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        return response.writeWith(Mono.fromSupplier(() -> response.bufferFactory().wrap(domainException.getBody())));
+    }
+
+    private Counter domainErrorCounter(DomainException domainException) {
+        return meterRegistry.counter("anime.errors",
+                "status", String.valueOf(domainException.getStatus().value()),
+                "exception", DomainException.class.getSimpleName());
     }
 
     @Override
@@ -44,6 +72,10 @@ public class GlobalExceptionHandler extends AbstractErrorWebExceptionHandler {
         Map<String, Object> errorAttributesMap = getErrorAttributes(request, errorAttributeOptions);
 
         int status = (int) Optional.ofNullable(errorAttributesMap.get("status")).orElse(500);
+        meterRegistry.counter("anime.errors",
+                        "status", String.valueOf(status),
+                        "exception", getError(request).getClass().getSimpleName())
+                .increment();
         return ServerResponse.status(status)
                 .contentType(MediaType.APPLICATION_JSON)
                 .body(BodyInserters.fromValue(errorAttributesMap));
@@ -0,0 +1,33 @@
+package academy.devdojo.springwebflux.filter;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+final class Bulkhead {
+
+    private final int maxConcurrent;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    Bulkhead(int maxConcurrent) {
+        this.maxConcurrent = maxConcurrent;
+    }
+
+    boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= maxConcurrent) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    void release() {
+        inFlight.decrementAndGet();
+    }
+
+    int inFlight() {
+        return inFlight.get();
+    }
+}
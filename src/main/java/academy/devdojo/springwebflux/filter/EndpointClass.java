@@ -0,0 +1,37 @@
+package academy.devdojo.springwebflux.filter;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+
+enum EndpointClass {
+    READ, WRITE, BATCH, STREAM;
+
+    static EndpointClass of(ServerHttpRequest request) {
+        String path = request.getPath().value();
+        if (path.endsWith("/batch") || path.endsWith("/import")) {
+            return BATCH;
+        }
+        HttpMethod method = request.getMethod();
+        if (!HttpMethod.GET.equals(method) && !HttpMethod.HEAD.equals(method)) {
+            return WRITE;
+        }
+        // Streams hold their permit for as long as the subscriber stays, so they get their own bulkhead
+        return path.endsWith("/changes") || acceptsStream(request) ? STREAM : READ;
+    }
+
+    private static boolean acceptsStream(ServerHttpRequest request) {
+        try {
+            return request.getHeaders().getAccept().stream()
+                    .anyMatch(mediaType -> mediaType.equalsTypeAndSubtype(MediaType.APPLICATION_NDJSON)
+                            || mediaType.equalsTypeAndSubtype(MediaType.TEXT_EVENT_STREAM));
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+    }
+
+    String tag() {
+        return name().toLowerCase();
+    }
+}
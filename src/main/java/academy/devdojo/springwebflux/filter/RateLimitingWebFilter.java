@@ -0,0 +1,131 @@
+package academy.devdojo.springwebflux.filter;
+
+import academy.devdojo.springwebflux.config.RateLimitProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.security.Principal;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@Component
+@ConditionalOnProperty(prefix = "devdojo.rate-limit", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitingWebFilter implements WebFilter, Ordered {
+
+    private static final long BULKHEAD_RETRY_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final String pathPrefix;
+    private final Map<EndpointClass, Limiter> limiters = new EnumMap<>(EndpointClass.class);
+
+    public RateLimitingWebFilter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.pathPrefix = properties.pathPrefix();
+        limiters.put(EndpointClass.READ, new Limiter(EndpointClass.READ, properties.read(), properties, meterRegistry));
+        limiters.put(EndpointClass.WRITE, new Limiter(EndpointClass.WRITE, properties.write(), properties, meterRegistry));
+        limiters.put(EndpointClass.BATCH, new Limiter(EndpointClass.BATCH, properties.batch(), properties, meterRegistry));
+        limiters.put(EndpointClass.STREAM, new Limiter(EndpointClass.STREAM, properties.stream(), properties, meterRegistry));
+    }
+
+    @Override
+    public int getOrder() {
+        return 0;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        if (!request.getPath().value().startsWith(pathPrefix)) {
+            return chain.filter(exchange);
+        }
+        Limiter limiter = limiters.get(EndpointClass.of(request));
+        return exchange.getPrincipal()
+                .map(Principal::getName)
+                .defaultIfEmpty(clientAddress(request))
+                .flatMap(principal -> limiter.filter(principal, exchange, chain));
+    }
+
+    private static String clientAddress(ServerHttpRequest request) {
+        InetSocketAddress remoteAddress = request.getRemoteAddress();
+        return remoteAddress == null || remoteAddress.getAddress() == null
+                ? "anonymous"
+                : remoteAddress.getAddress().getHostAddress();
+    }
+
+    private static Mono<Void> reject(ServerWebExchange exchange, long retryAfterNanos) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(retryAfterNanos + 999_999_999))));
+        return response.setComplete();
+    }
+
+    private static final class Limiter {
+        private final RateLimitProperties.Limit limit;
+        private final TokenBucket routeBucket;
+        private final Cache<String, TokenBucket> principalBuckets;
+        private final Bulkhead bulkhead;
+        private final Counter principalRejections;
+        private final Counter routeRejections;
+        private final Counter bulkheadRejections;
+
+        Limiter(EndpointClass endpointClass, RateLimitProperties.Limit limit, RateLimitProperties properties, MeterRegistry meterRegistry) {
+            this.limit = limit;
+            this.routeBucket = new TokenBucket(limit.routeRate(), limit.routeBurst());
+            this.principalBuckets = Caffeine.newBuilder()
+                    .maximumSize(properties.maxPrincipals())
+                    .expireAfterAccess(properties.principalIdleTime())
+                    .build();
+            this.bulkhead = new Bulkhead(limit.maxConcurrent());
+            this.principalRejections = rejections(meterRegistry, endpointClass, "principal");
+            this.routeRejections = rejections(meterRegistry, endpointClass, "route");
+            this.bulkheadRejections = rejections(meterRegistry, endpointClass, "bulkhead");
+            Gauge.builder("anime.bulkhead.in.flight", bulkhead, Bulkhead::inFlight)
+                    .description("Requests currently admitted by the endpoint bulkhead")
+                    .tag("endpoint", endpointClass.tag())
+                    .register(meterRegistry);
+        }
+
+        private static Counter rejections(MeterRegistry meterRegistry, EndpointClass endpointClass, String reason) {
+            return Counter.builder("anime.rate.limit.rejections")
+                    .description("Requests rejected with 429 before reaching the handler")
+                    .tag("endpoint", endpointClass.tag())
+                    .tag("reason", reason)
+                    .register(meterRegistry);
+        }
+
+        Mono<Void> filter(String principal, ServerWebExchange exchange, WebFilterChain chain) {
+            long now = System.nanoTime();
+            long wait = principalBuckets.get(principal, key -> new TokenBucket(limit.principalRate(), limit.principalBurst()))
+                    .tryAcquire(now);
+            if (wait > 0) {
+                principalRejections.increment();
+                return reject(exchange, wait);
+            }
+            wait = routeBucket.tryAcquire(now);
+            if (wait > 0) {
+                routeRejections.increment();
+                return reject(exchange, wait);
+            }
+            if (!bulkhead.tryAcquire()) {
+                bulkheadRejections.increment();
+                return reject(exchange, BULKHEAD_RETRY_NANOS);
+            }
+            return chain.filter(exchange)
+                    .doFinally(signalType -> bulkhead.release());
+        }
+    }
+}
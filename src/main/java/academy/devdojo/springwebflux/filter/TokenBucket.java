@@ -0,0 +1,29 @@
+package academy.devdojo.springwebflux.filter;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+final class TokenBucket {
+
+    private final long emissionIntervalNanos;
+    private final long burstNanos;
+    private final AtomicLong theoreticalArrival = new AtomicLong(Long.MIN_VALUE);
+
+    TokenBucket(double ratePerSecond, int burst) {
+        this.emissionIntervalNanos = Math.max(1L, (long) (1_000_000_000L / ratePerSecond));
+        this.burstNanos = emissionIntervalNanos * burst;
+    }
+
+    long tryAcquire(long nowNanos) {
+        while (true) {
+            long current = theoreticalArrival.get();
+            long next = (current == Long.MIN_VALUE || current - nowNanos < 0 ? nowNanos : current) + emissionIntervalNanos;
+            long excess = next - nowNanos - burstNanos;
+            if (excess > 0) {
+                return excess;
+            }
+            if (theoreticalArrival.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package academy.devdojo.springwebflux.notification;
+
+import academy.devdojo.springwebflux.config.AnimeProperties;
+import academy.devdojo.springwebflux.domain.AnimeChange;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.List;
+
+@Slf4j
+@Component
+public class AnimeChangeFeed {
+
+    public static final String CHANNEL = "anime_changes";
+
+    private static final String KEEP_ALIVE = "keep-alive";
+
+    private static final List<String> TRIGGERS = List.of("anime_change_insert", "anime_change_update", "anime_change_delete");
+
+    private final PostgresNotifications postgresNotifications;
+    private final Flux<AnimeChange> changes;
+    private final ObjectMapper objectMapper;
+    private final int bufferSize;
+    private final Duration heartbeat;
+    private final Counter dropped;
+
+    public AnimeChangeFeed(PostgresNotifications postgresNotifications, ObjectMapper objectMapper, AnimeProperties animeProperties,
+                           MeterRegistry meterRegistry) {
+        this.postgresNotifications = postgresNotifications;
+        this.changes = Flux.defer(() -> postgresNotifications.listen(CHANNEL))
+                .filter(payload -> !PostgresNotifications.LISTENING.equals(payload) && !PostgresNotifications.DISCONNECTED.equals(payload))
+                .flatMapIterable(payload -> parse(objectMapper, payload))
+                .share();
+        this.objectMapper = objectMapper;
+        this.bufferSize = animeProperties.changeBufferSize();
+        this.heartbeat = animeProperties.changeHeartbeat();
+        this.dropped = Counter.builder("anime.changes.dropped")
+                .description("Change events dropped because a subscriber fell behind")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void checkTriggers() {
+        postgresNotifications.checkTriggers(CHANNEL, TRIGGERS).subscribe();
+    }
+
+    public Flux<AnimeChange> subscribe() {
+        return changes.onBackpressureBuffer(bufferSize, change -> dropped.increment(), BufferOverflowStrategy.DROP_OLDEST);
+    }
+
+    // The heartbeats keep a quiet feed writing, so a subscriber whose connection died is noticed and cancelled
+    public Flux<ServerSentEvent<AnimeChange>> events() {
+        return Flux.merge(subscribe().map(change -> ServerSentEvent.builder(change).build()),
+                heartbeats().map(tick -> ServerSentEvent.<AnimeChange>builder().comment(KEEP_ALIVE).build()));
+    }
+
+    public Flux<String> lines() {
+        return Flux.merge(subscribe().mapNotNull(this::line), heartbeats().map(tick -> "\n"));
+    }
+
+    private Flux<Long> heartbeats() {
+        return Flux.interval(heartbeat, heartbeat)
+                .onBackpressureDrop();
+    }
+
+    private String line(AnimeChange change) {
+        try {
+            return objectMapper.writeValueAsString(change) + "\n";
+        } catch (JsonProcessingException e) {
+            log.warn("Could not encode anime change {}", change, e);
+            return null;
+        }
+    }
+
+    private static List<AnimeChange> parse(ObjectMapper objectMapper, String payload) {
+        try {
+            Notification notification = objectMapper.readValue(payload, Notification.class);
+            return notification.changes().stream()
+                    .map(row -> new AnimeChange(notification.type(), row.id(), row.name(), row.version()))
+                    .toList();
+        } catch (JsonProcessingException e) {
+            log.warn("Ignoring malformed anime change {}", payload, e);
+            return List.of();
+        }
+    }
+
+    record Notification(AnimeChange.Type type, List<Row> changes) {
+    }
+
+    record Row(int id, String name, Integer version) {
+    }
+}
@@ -0,0 +1,100 @@
+package academy.devdojo.springwebflux.notification;
+
+import academy.devdojo.springwebflux.cache.AnimeCache;
+import academy.devdojo.springwebflux.service.DevDojoUserDetailsService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.List;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "devdojo.cache.invalidation.enabled", havingValue = "true", matchIfMissing = true)
+public class CacheInvalidationListener implements DisposableBean {
+
+    public static final String CHANNEL = "cache_invalidation";
+
+    private static final List<String> TRIGGERS = List.of("anime_cache_insert", "anime_cache_update", "anime_cache_delete",
+            "principal_cache_update", "principal_cache_delete");
+
+    private final PostgresNotifications postgresNotifications;
+    private final ObjectMapper objectMapper;
+    private final AnimeCache animeCache;
+    private final DevDojoUserDetailsService devDojoUserDetailsService;
+    private final MeterRegistry meterRegistry;
+
+    private Disposable subscription;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        subscription = Flux.defer(() -> postgresNotifications.listen(CHANNEL))
+                .doOnNext(this::apply)
+                .doOnError(error -> {
+                    log.warn("Cache invalidation stream failed, resubscribing", error);
+                    flushAll();
+                })
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1)).maxBackoff(Duration.ofSeconds(30)))
+                .subscribe();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void checkTriggers() {
+        postgresNotifications.checkTriggers(CHANNEL, TRIGGERS).subscribe();
+    }
+
+    @Override
+    public void destroy() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+
+    // Invalidations sent while disconnected are never delivered, so caches are flushed on loss and again once
+    // listening; a payload that cannot be applied is a lost invalidation too
+    private void apply(String payload) {
+        if (PostgresNotifications.DISCONNECTED.equals(payload) || PostgresNotifications.LISTENING.equals(payload)) {
+            flushAll();
+            return;
+        }
+        try {
+            Invalidation invalidation = objectMapper.readValue(payload, Invalidation.class);
+            switch (invalidation.cache()) {
+                case "anime" -> animeCache.invalidate(invalidation.keys().stream().map(Integer::valueOf).toList());
+                case "principal" -> devDojoUserDetailsService.evict(invalidation.keys());
+                default -> {
+                    log.warn("Ignoring invalidation for unknown cache {}", invalidation.cache());
+                    return;
+                }
+            }
+            Counter.builder("cache.invalidations")
+                    .tag("cache", invalidation.cache())
+                    .register(meterRegistry)
+                    .increment(invalidation.keys().size());
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.warn("Could not apply cache invalidation {}, flushing all caches", payload, e);
+            flushAll();
+        }
+    }
+
+    private void flushAll() {
+        animeCache.invalidateAll();
+        devDojoUserDetailsService.evictAll();
+    }
+
+    record Invalidation(String cache, List<String> keys) {
+    }
+}
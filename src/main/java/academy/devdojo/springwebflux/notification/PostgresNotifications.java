@@ -0,0 +1,93 @@
+package academy.devdojo.springwebflux.notification;
+
+import io.r2dbc.postgresql.api.Notification;
+import io.r2dbc.postgresql.api.PostgresqlConnection;
+import io.r2dbc.postgresql.api.PostgresqlResult;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcProperties;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+public class PostgresNotifications {
+
+    // Emitted whenever LISTEN is (re)established, since anything sent while disconnected was missed
+    public static final String LISTENING = "";
+
+    // Emitted when the connection is lost; Postgres text cannot contain NUL, so it never clashes with a payload
+    public static final String DISCONNECTED = "\u0000";
+
+    private static final Pattern CHANNEL_NAME = Pattern.compile("[a-z_]+");
+
+    private static final String TRIGGERS = "SELECT t.tgname FROM pg_trigger t JOIN pg_class c ON c.oid = t.tgrelid "
+            + "JOIN pg_namespace n ON n.oid = c.relnamespace WHERE n.nspname = 'anime' AND NOT t.tgisinternal";
+
+    private final ConnectionFactory connectionFactory;
+    private final Map<String, Flux<String>> channels = new ConcurrentHashMap<>();
+
+    public PostgresNotifications(R2dbcProperties r2dbcProperties) {
+        this.connectionFactory = ConnectionFactories.get(ConnectionFactoryOptions.parse(r2dbcProperties.getUrl()).mutate()
+                .option(ConnectionFactoryOptions.USER, r2dbcProperties.getUsername())
+                .option(ConnectionFactoryOptions.PASSWORD, r2dbcProperties.getPassword())
+                .build());
+    }
+
+    public Flux<String> listen(String channel) {
+        if (!CHANNEL_NAME.matcher(channel).matches()) {
+            throw new IllegalArgumentException("Invalid channel name " + channel);
+        }
+        return channels.computeIfAbsent(channel, this::connect);
+    }
+
+    // Nothing is ever sent on a channel whose triggers were not installed by the migrations, so say so at startup
+    public Mono<Void> checkTriggers(String channel, Collection<String> triggers) {
+        return Flux.usingWhen(Mono.<Connection>from(connectionFactory.create()),
+                        connection -> Flux.from(connection.createStatement(TRIGGERS).execute())
+                                .flatMap(result -> result.map((row, metadata) -> row.get("tgname", String.class))),
+                        Connection::close)
+                .collect(Collectors.toSet())
+                .doOnNext(installed -> warnIfMissing(channel, triggers, installed))
+                .doOnError(error -> log.warn("Could not check the triggers for {}", channel, error))
+                .onErrorResume(error -> Mono.empty())
+                .then();
+    }
+
+    private static void warnIfMissing(String channel, Collection<String> triggers, Set<String> installed) {
+        List<String> missing = triggers.stream().filter(trigger -> !installed.contains(trigger)).toList();
+        if (!missing.isEmpty()) {
+            log.warn("Triggers {} are missing, nothing will be notified on {} until the migrations are applied", missing, channel);
+        }
+    }
+
+    private Flux<String> connect(String channel) {
+        return Flux.usingWhen(Mono.from(connectionFactory.create()).cast(PostgresqlConnection.class),
+                        connection -> connection.createStatement("LISTEN " + channel).execute()
+                                .flatMap(PostgresqlResult::getRowsUpdated)
+                                .doOnComplete(() -> log.info("Listening for notifications on {}", channel))
+                                .thenMany(connection.getNotifications()
+                                        .mapNotNull(Notification::getParameter)
+                                        .startWith(LISTENING))
+                                .concatWith(Mono.error(() -> new IllegalStateException("Notification connection closed"))),
+                        PostgresqlConnection::close)
+                .doOnError(error -> log.warn("Lost the notification connection for {}, reconnecting", channel, error))
+                .onErrorResume(error -> Flux.just(DISCONNECTED).concatWith(Mono.error(error)))
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1)).maxBackoff(Duration.ofSeconds(30)))
+                .share();
+    }
+}
@@ -0,0 +1,15 @@
+package academy.devdojo.springwebflux.repository;
+
+import academy.devdojo.springwebflux.domain.Anime;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+
+public interface AnimeBatchRepository {
+
+    Flux<Anime> insertAll(List<Anime> animes);
+
+    Flux<Anime> updateNames(List<Anime> animes);
+
+    Flux<Integer> removeAll(List<Integer> ids);
+}
@@ -0,0 +1,85 @@
+package academy.devdojo.springwebflux.repository;
+
+import academy.devdojo.springwebflux.config.AnimeProperties;
+import academy.devdojo.springwebflux.domain.Anime;
+import io.r2dbc.spi.Row;
+import lombok.AllArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+@AllArgsConstructor
+public class AnimeBatchRepositoryImpl implements AnimeBatchRepository {
+
+    private final DatabaseClient databaseClient;
+    private final AnimeProperties animeProperties;
+
+    @Override
+    public Flux<Anime> insertAll(List<Anime> animes) {
+        return Flux.fromIterable(animes)
+                .buffer(animeProperties.batchSize())
+                .concatMap(this::insertChunk);
+    }
+
+    @Override
+    public Flux<Anime> updateNames(List<Anime> animes) {
+        return Flux.fromIterable(animes)
+                .buffer(animeProperties.batchSize())
+                .concatMap(this::updateChunk);
+    }
+
+    @Override
+    public Flux<Integer> removeAll(List<Integer> ids) {
+        return Flux.fromIterable(ids)
+                .buffer(animeProperties.batchSize())
+                .concatMap(chunk -> databaseClient.sql("DELETE FROM anime WHERE id = ANY($1) RETURNING id")
+                        .bind(0, chunk.toArray(new Integer[0]))
+                        .map((row, metadata) -> row.get("id", Integer.class))
+                        .all());
+    }
+
+    private Flux<Anime> insertChunk(List<Anime> chunk) {
+        String values = IntStream.rangeClosed(1, chunk.size())
+                .mapToObj(index -> "($" + index + ")")
+                .collect(Collectors.joining(","));
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql("INSERT INTO anime (name) VALUES " + values + " RETURNING id, name, version");
+        for (int index = 0; index < chunk.size(); index++) {
+            spec = spec.bind(index, chunk.get(index).getName());
+        }
+        return spec.map((row, metadata) -> toAnime(row))
+                .all();
+    }
+
+    private Flux<Anime> updateChunk(List<Anime> chunk) {
+        String values = IntStream.range(0, chunk.size())
+                .mapToObj(index -> "($" + (3 * index + 1) + "::int, $" + (3 * index + 2) + "::varchar, $" + (3 * index + 3) + "::int)")
+                .collect(Collectors.joining(","));
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql("""
+                UPDATE anime AS a SET name = v.name, version = a.version + 1
+                FROM (VALUES %s) AS v(id, name, version)
+                WHERE a.id = v.id AND (v.version IS NULL OR a.version = v.version)
+                RETURNING a.id, a.name, a.version
+                """.formatted(values));
+        for (int index = 0; index < chunk.size(); index++) {
+            Anime anime = chunk.get(index);
+            spec = spec.bind(3 * index, anime.getId())
+                    .bind(3 * index + 1, anime.getName());
+            spec = anime.getVersion() == null
+                    ? spec.bindNull(3 * index + 2, Integer.class)
+                    : spec.bind(3 * index + 2, anime.getVersion());
+        }
+        return spec.map((row, metadata) -> toAnime(row))
+                .all();
+    }
+
+    private Anime toAnime(Row row) {
+        return Anime.builder()
+                .id(row.get("id", Integer.class))
+                .name(row.get("name", String.class))
+                .version(row.get("version", Integer.class))
+                .build();
+    }
+}
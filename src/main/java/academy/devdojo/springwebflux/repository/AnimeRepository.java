@@ -1,12 +1,48 @@
 package academy.devdojo.springwebflux.repository;
 
 import academy.devdojo.springwebflux.domain.Anime;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.repository.reactive.ReactiveCrudRepository;
 import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 @Repository
-public interface AnimeRepository extends ReactiveCrudRepository<Anime, Integer> {
+public interface AnimeRepository extends ReactiveCrudRepository<Anime, Integer>, AnimeBatchRepository {
 
     Mono<Anime> findById(int id);
+
+    @Modifying
+    @Query("UPDATE anime SET name = :name, version = version + 1 WHERE id = :id")
+    Mono<Integer> updateName(int id, String name);
+
+    @Modifying
+    @Query("UPDATE anime SET name = :name, version = version + 1 WHERE id = :id AND version = :version")
+    Mono<Integer> updateName(int id, String name, int version);
+
+    @Modifying
+    @Query("DELETE FROM anime WHERE id = :id")
+    Mono<Integer> deleteRow(int id);
+
+    @Modifying
+    @Query("DELETE FROM anime WHERE id = :id AND version = :version")
+    Mono<Integer> deleteRow(int id, int version);
+
+    @Query("SELECT id FROM anime WHERE id = ANY(:ids)")
+    Flux<Integer> findExistingIds(Integer[] ids);
+
+    @Query("SELECT version::text FROM catalog_version")
+    Mono<String> catalogVersion();
+
+    @Query("SELECT * FROM anime WHERE id > :after ORDER BY id LIMIT :limit")
+    Flux<Anime> findPageAfter(int after, int limit);
+
+    @Query("""
+            SELECT * FROM anime
+            WHERE name ILIKE :pattern OR name % :query
+            ORDER BY name ILIKE :prefix DESC, similarity(name, :query) DESC, id
+            LIMIT :limit OFFSET :offset
+            """)
+    Flux<Anime> search(String query, String pattern, String prefix, int limit, long offset);
 }
@@ -0,0 +1,24 @@
+package academy.devdojo.springwebflux.repository;
+
+import academy.devdojo.springwebflux.domain.DevDojoUser;
+import academy.devdojo.springwebflux.service.DevDojoUserDetailsService;
+import lombok.AllArgsConstructor;
+import org.reactivestreams.Publisher;
+import org.springframework.data.r2dbc.mapping.OutboundRow;
+import org.springframework.data.r2dbc.mapping.event.AfterSaveCallback;
+import org.springframework.data.relational.core.sql.SqlIdentifier;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+@Component
+@AllArgsConstructor
+public class DevDojoUserCacheEvictionCallback implements AfterSaveCallback<DevDojoUser> {
+
+    private final DevDojoUserDetailsService devDojoUserDetailsService;
+
+    @Override
+    public Publisher<DevDojoUser> onAfterSave(DevDojoUser entity, OutboundRow outboundRow, SqlIdentifier table) {
+        devDojoUserDetailsService.evict(entity.getUsername());
+        return Mono.just(entity);
+    }
+}
@@ -0,0 +1,37 @@
+package academy.devdojo.springwebflux.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.util.StringUtils;
+
+import java.util.Arrays;
+import java.util.List;
+
+public final class GrantedAuthorities {
+
+    // Bounded because the keys come from database rows; a handful of distinct role sets is the normal case
+    private static final int MAX_INTERNED = 1024;
+
+    private static final Cache<String, GrantedAuthority> AUTHORITIES = Caffeine.newBuilder().maximumSize(MAX_INTERNED).build();
+    private static final Cache<String, List<GrantedAuthority>> AUTHORITY_LISTS = Caffeine.newBuilder().maximumSize(MAX_INTERNED).build();
+
+    private GrantedAuthorities() {
+    }
+
+    public static List<GrantedAuthority> parse(String commaSeparatedAuthorities) {
+        if (!StringUtils.hasText(commaSeparatedAuthorities)) {
+            return List.of();
+        }
+        return AUTHORITY_LISTS.get(commaSeparatedAuthorities, authorities -> Arrays.stream(authorities.split(","))
+                .map(String::trim)
+                .filter(StringUtils::hasText)
+                .map(GrantedAuthorities::of)
+                .toList());
+    }
+
+    public static GrantedAuthority of(String authority) {
+        return AUTHORITIES.get(authority, SimpleGrantedAuthority::new);
+    }
+}
@@ -0,0 +1,47 @@
+package academy.devdojo.springwebflux.security;
+
+import academy.devdojo.springwebflux.domain.DevDojoUser;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.ReactiveAuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.web.server.authorization.AuthorizationContext;
+import reactor.core.publisher.Mono;
+
+public class RoleAuthorizationManager implements ReactiveAuthorizationManager<AuthorizationContext> {
+
+    private static final AuthorizationDecision GRANTED = new AuthorizationDecision(true);
+    private static final AuthorizationDecision DENIED = new AuthorizationDecision(false);
+
+    private final String role;
+    private final String authority;
+
+    private RoleAuthorizationManager(String role) {
+        this.role = role;
+        this.authority = "ROLE_" + role;
+    }
+
+    public static RoleAuthorizationManager hasRole(String role) {
+        return new RoleAuthorizationManager(role);
+    }
+
+    @Override
+    public Mono<AuthorizationDecision> check(Mono<Authentication> authentication, AuthorizationContext context) {
+        return authentication
+                .filter(Authentication::isAuthenticated)
+                .map(this::decide)
+                .defaultIfEmpty(DENIED);
+    }
+
+    private AuthorizationDecision decide(Authentication authentication) {
+        if (authentication.getPrincipal() instanceof DevDojoUser devDojoUser) {
+            return devDojoUser.hasRole(role) ? GRANTED : DENIED;
+        }
+        for (GrantedAuthority grantedAuthority : authentication.getAuthorities()) {
+            if (authority.equals(grantedAuthority.getAuthority())) {
+                return GRANTED;
+            }
+        }
+        return DENIED;
+    }
+}
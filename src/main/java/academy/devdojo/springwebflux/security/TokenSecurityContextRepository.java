@@ -0,0 +1,38 @@
+package academy.devdojo.springwebflux.security;
+
+import lombok.AllArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.web.server.context.ServerSecurityContextRepository;
+import org.springframework.security.web.server.context.WebSessionServerSecurityContextRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+@Component
+@AllArgsConstructor
+@ConditionalOnProperty(prefix = "devdojo.security.token", name = "enabled", havingValue = "true")
+public class TokenSecurityContextRepository implements ServerSecurityContextRepository {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final TokenService tokenService;
+    private final ServerSecurityContextRepository sessionSecurityContextRepository = new WebSessionServerSecurityContextRepository();
+
+    @Override
+    public Mono<Void> save(ServerWebExchange exchange, SecurityContext context) {
+        return sessionSecurityContextRepository.save(exchange, context);
+    }
+
+    @Override
+    public Mono<SecurityContext> load(ServerWebExchange exchange) {
+        String authorization = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (authorization == null || !authorization.regionMatches(true, 0, BEARER_PREFIX, 0, BEARER_PREFIX.length())) {
+            return sessionSecurityContextRepository.load(exchange);
+        }
+        return Mono.justOrEmpty(tokenService.verify(authorization.substring(BEARER_PREFIX.length())))
+                .map(SecurityContextImpl::new);
+    }
+}
@@ -0,0 +1,94 @@
+package academy.devdojo.springwebflux.security;
+
+import academy.devdojo.springwebflux.config.TokenProperties;
+import academy.devdojo.springwebflux.domain.Token;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.crypto.keygen.KeyGenerators;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@ConditionalOnProperty(prefix = "devdojo.security.token", name = "enabled", havingValue = "true")
+public class TokenService {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final String TOKEN_TYPE = "Bearer";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final SecretKeySpec key;
+    private final Duration ttl;
+
+    public TokenService(TokenProperties tokenProperties) {
+        byte[] secret;
+        if (StringUtils.hasText(tokenProperties.secret())) {
+            secret = tokenProperties.secret().getBytes(StandardCharsets.UTF_8);
+        } else {
+            log.warn("devdojo.security.token.secret is not set, tokens will only be valid on this instance until it restarts");
+            secret = KeyGenerators.secureRandom(32).generateKey();
+        }
+        this.key = new SecretKeySpec(secret, ALGORITHM);
+        this.ttl = tokenProperties.ttl();
+    }
+
+    public Token issue(Authentication authentication) {
+        String authorities = authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.joining(","));
+        long expiresAt = Instant.now().plus(ttl).getEpochSecond();
+        String payload = encode(authentication.getName()) + "." + encode(authorities) + "." + expiresAt;
+        return new Token(payload + "." + ENCODER.encodeToString(sign(payload)), TOKEN_TYPE, ttl.toSeconds());
+    }
+
+    public Optional<Authentication> verify(String token) {
+        String[] parts = token.split("\\.");
+        if (parts.length != 4) {
+            return Optional.empty();
+        }
+        try {
+            String payload = parts[0] + "." + parts[1] + "." + parts[2];
+            if (!MessageDigest.isEqual(sign(payload), DECODER.decode(parts[3]))
+                    || Instant.now().getEpochSecond() >= Long.parseLong(parts[2])) {
+                return Optional.empty();
+            }
+            return Optional.of(UsernamePasswordAuthenticationToken.authenticated(decode(parts[0]), null,
+                    GrantedAuthorities.parse(decode(parts[1]))));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    private byte[] sign(String payload) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac.doFinal(payload.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to sign token", e);
+        }
+    }
+
+    private static String encode(String value) {
+        return ENCODER.encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decode(String value) {
+        return new String(DECODER.decode(value), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,122 @@
+package academy.devdojo.springwebflux.service;
+
+import academy.devdojo.springwebflux.cache.AnimeCache;
+import academy.devdojo.springwebflux.cache.AnimeSuggestIndex;
+import academy.devdojo.springwebflux.config.AnimeProperties;
+import academy.devdojo.springwebflux.domain.Anime;
+import academy.devdojo.springwebflux.domain.BatchOutcome;
+import academy.devdojo.springwebflux.repository.AnimeRepository;
+import io.netty.util.internal.StringUtil;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+@AllArgsConstructor
+public class AnimeBatchService {
+    private static final BatchOutcome COMMITTED = new BatchOutcome(null, BatchOutcome.Status.COMMITTED);
+
+    private final AnimeRepository animeRepository;
+    private final AnimeProperties animeProperties;
+    private final AnimeCache animeCache;
+    private final AnimeSuggestIndex animeSuggestIndex;
+    private final TransactionalOperator transactionalOperator;
+
+    // A JSON body is already in memory, so it is applied in a single transaction that commits or rolls back as a whole
+    public Flux<BatchOutcome> updateAll(List<Anime> animes) {
+        return update(animes);
+    }
+
+    // A streamed body commits chunk by chunk, so a slow upload never holds a transaction open. A COMMITTED outcome
+    // follows each chunk: everything reported before it is durable even if the stream fails later.
+    public Flux<BatchOutcome> updateAll(Flux<Anime> animes) {
+        return animes.buffer(animeProperties.batchSize())
+                .concatMap(chunk -> update(chunk).concatWithValues(COMMITTED));
+    }
+
+    public Flux<BatchOutcome> deleteAll(List<Integer> ids) {
+        return delete(ids.stream().filter(Objects::nonNull).toList());
+    }
+
+    public Flux<BatchOutcome> deleteAll(Flux<Integer> ids) {
+        return ids.filter(Objects::nonNull)
+                .buffer(animeProperties.batchSize())
+                .concatMap(chunk -> delete(chunk).concatWithValues(COMMITTED));
+    }
+
+    // Caches and the suggest index are only refreshed once the transaction has committed
+    private Flux<BatchOutcome> update(List<Anime> animes) {
+        List<BatchOutcome> invalid = new ArrayList<>();
+        Map<Integer, Anime> requested = new LinkedHashMap<>();
+        for (Anime anime : animes) {
+            if (anime.getId() == null || StringUtil.isNullOrEmpty(anime.getName())) {
+                invalid.add(new BatchOutcome(anime.getId(), BatchOutcome.Status.INVALID));
+            } else {
+                requested.put(anime.getId(), anime);
+            }
+        }
+        if (requested.isEmpty()) {
+            return Flux.fromIterable(invalid);
+        }
+        return transactionalOperator.transactional(animeRepository.updateNames(new ArrayList<>(requested.values())).collectList())
+                .doOnNext(saved -> saved.forEach(this::refresh))
+                .map(saved -> saved.stream().map(Anime::getId).collect(Collectors.toSet()))
+                .flatMapMany(updated -> {
+                    List<Integer> versioned = requested.values().stream()
+                            .filter(anime -> !updated.contains(anime.getId()) && anime.getVersion() != null)
+                            .map(Anime::getId)
+                            .toList();
+                    return existingIds(versioned)
+                            .flatMapIterable(existing -> requested.keySet().stream()
+                                    .map(id -> new BatchOutcome(id, updated.contains(id)
+                                            ? BatchOutcome.Status.UPDATED
+                                            : existing.contains(id) ? BatchOutcome.Status.CONFLICT : BatchOutcome.Status.NOT_FOUND))
+                                    .toList());
+                })
+                .concatWithValues(invalid.toArray(new BatchOutcome[0]));
+    }
+
+    private Flux<BatchOutcome> delete(List<Integer> ids) {
+        Set<Integer> requested = new LinkedHashSet<>(ids);
+        if (requested.isEmpty()) {
+            return Flux.empty();
+        }
+        return transactionalOperator.transactional(animeRepository.removeAll(new ArrayList<>(requested)).collectList())
+                .doOnNext(removed -> removed.forEach(this::forget))
+                .<Set<Integer>>map(HashSet::new)
+                .flatMapIterable(deleted -> requested.stream()
+                        .map(id -> new BatchOutcome(id, deleted.contains(id) ? BatchOutcome.Status.DELETED : BatchOutcome.Status.NOT_FOUND))
+                        .toList());
+    }
+
+    private Mono<Set<Integer>> existingIds(Collection<Integer> ids) {
+        if (ids.isEmpty()) {
+            return Mono.just(Set.of());
+        }
+        return animeRepository.findExistingIds(ids.toArray(new Integer[0]))
+                .collect(Collectors.toSet());
+    }
+
+    private void refresh(Anime anime) {
+        animeCache.evict(anime.getId());
+        animeSuggestIndex.put(anime);
+    }
+
+    private void forget(int id) {
+        animeCache.evict(id);
+        animeSuggestIndex.remove(id);
+    }
+}
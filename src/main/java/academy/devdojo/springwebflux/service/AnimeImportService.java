@@ -0,0 +1,56 @@
+package academy.devdojo.springwebflux.service;
+
+import academy.devdojo.springwebflux.cache.AnimeCache;
+import academy.devdojo.springwebflux.cache.AnimeSuggestIndex;
+import academy.devdojo.springwebflux.config.AnimeProperties;
+import academy.devdojo.springwebflux.domain.Anime;
+import academy.devdojo.springwebflux.domain.ImportError;
+import academy.devdojo.springwebflux.domain.ImportProgress;
+import academy.devdojo.springwebflux.repository.AnimeRepository;
+import io.netty.util.internal.StringUtil;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Service
+@AllArgsConstructor
+public class AnimeImportService {
+    private final AnimeRepository animeRepository;
+    private final AnimeProperties animeProperties;
+    private final AnimeSuggestIndex animeSuggestIndex;
+    private final AnimeCache animeCache;
+
+    // Prefetch 0 asks the upload for the next window only after the current one is written, so at most one is in memory
+    public Flux<ImportProgress> importAll(Flux<Anime> animes) {
+        return Flux.defer(() -> {
+            AtomicLong imported = new AtomicLong();
+            return animes.index()
+                    .buffer(animeProperties.batchSize())
+                    .concatMap(window -> importWindow(window, imported), 0);
+        });
+    }
+
+    private Mono<ImportProgress> importWindow(List<Tuple2<Long, Anime>> window, AtomicLong imported) {
+        List<Anime> validAnimes = new ArrayList<>(window.size());
+        List<ImportError> errors = new ArrayList<>();
+        for (Tuple2<Long, Anime> line : window) {
+            if (StringUtil.isNullOrEmpty(line.getT2().getName())) {
+                errors.add(new ImportError(line.getT1() + 1, "Invalid Name"));
+            } else {
+                validAnimes.add(line.getT2());
+            }
+        }
+        long processed = window.get(window.size() - 1).getT1() + 1;
+        return animeRepository.insertAll(validAnimes)
+                .doOnNext(animeSuggestIndex::put)
+                .doOnNext(anime -> animeCache.markPresent(anime.getId()))
+                .count()
+                .map(count -> new ImportProgress(processed, imported.addAndGet(count), errors));
+    }
+}
@@ -1,14 +1,17 @@
 package academy.devdojo.springwebflux.service;
 
+import academy.devdojo.springwebflux.cache.AnimeCache;
+import academy.devdojo.springwebflux.cache.AnimeSuggestIndex;
 import academy.devdojo.springwebflux.domain.Anime;
+import academy.devdojo.springwebflux.domain.AnimePage;
+import academy.devdojo.springwebflux.exception.DomainException;
 import academy.devdojo.springwebflux.repository.AnimeRepository;
 import io.netty.util.internal.StringUtil;
 import lombok.AllArgsConstructor;
 import lombok.RequiredArgsConstructor;
-import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.server.ResponseStatusException;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import org.springframework.util.StringUtils;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -17,47 +20,122 @@ import java.util.List;
 @Service
 @AllArgsConstructor
 public class AnimeService {
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final int STREAM_PAGE_SIZE = 500;
+    private static final int MAX_SUGGESTIONS = 50;
+
     private final AnimeRepository animeRepository;
+    private final AnimeCache animeCache;
+    private final AnimeSuggestIndex animeSuggestIndex;
+    private final TransactionalOperator transactionalOperator;
 
     public Flux<Anime> findAll() {
         return animeRepository.findAll();
     }
 
+    public Mono<String> catalogVersion() {
+        return animeRepository.catalogVersion();
+    }
+
+    public Mono<AnimePage> findPage(int after, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            return Mono.error(DomainException.INVALID_LIMIT);
+        }
+        return animeRepository.findPageAfter(after, limit)
+                .collectList()
+                .map(animes -> new AnimePage(animes, animes.size() < limit ? null : animes.get(animes.size() - 1).getId()));
+    }
+
+    public Flux<Anime> streamAll() {
+        return findPage(0, STREAM_PAGE_SIZE)
+                .expand(page -> page.next() == null ? Mono.empty() : findPage(page.next(), STREAM_PAGE_SIZE))
+                .flatMapIterable(AnimePage::content);
+    }
+
+    public Flux<Anime> search(String query, int page, int limit) {
+        if (!StringUtils.hasText(query) || page < 0 || limit < 1 || limit > MAX_PAGE_SIZE) {
+            return Flux.error(DomainException.INVALID_SEARCH);
+        }
+        String trimmedQuery = query.trim();
+        String escapedQuery = escapeLikePattern(trimmedQuery);
+        return animeRepository.search(trimmedQuery, "%" + escapedQuery + "%", escapedQuery + "%", limit, (long) page * limit);
+    }
+
+    public Flux<Anime> suggest(String prefix, int limit) {
+        if (limit < 1 || limit > MAX_SUGGESTIONS) {
+            return Flux.error(DomainException.INVALID_LIMIT);
+        }
+        return Flux.defer(() -> Flux.fromIterable(animeSuggestIndex.suggest(prefix, limit)));
+    }
+
+    private String escapeLikePattern(String value) {
+        return value.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+
     public Mono<Anime> findById(int id) {
-        return animeRepository.findById(id)
+        return animeCache.get(id, animeRepository::findById)
                 .switchIfEmpty(monoResponseStatusNotFoundException());
     }
 
     private <T> Mono<T> monoResponseStatusNotFoundException() {
-        return Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND, "Anime not found"));
+        return Mono.error(DomainException.ANIME_NOT_FOUND);
     }
 
     public Mono<Anime> save(Anime anime) {
-        return animeRepository.save(anime);
+        return animeRepository.save(anime)
+                .doOnNext(animeCache::put)
+                .doOnNext(animeSuggestIndex::put);
     }
 
-    @Transactional
     public Flux<Anime> saveAll(List<Anime> animes) {
-        return animeRepository.saveAll(animes)
-                .doOnNext(this::throwResponseStatusExceptionWhenEmptyName);
+        return Mono.fromRunnable(() -> animes.forEach(this::throwResponseStatusExceptionWhenEmptyName))
+                .then(transactionalOperator.transactional(animeRepository.insertAll(animes).collectList()))
+                .doOnNext(saved -> saved.forEach(anime -> {
+                    animeCache.put(anime);
+                    animeSuggestIndex.put(anime);
+                }))
+                .flatMapIterable(saved -> saved);
     }
 
     private void throwResponseStatusExceptionWhenEmptyName(Anime anime) {
         if (StringUtil.isNullOrEmpty(anime.getName())) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid Name");
+            throw DomainException.INVALID_NAME;
         }
     }
 
     public Mono<Void> update(Anime anime) {
-        return findById(anime.getId())
-//                .map(animeFound -> anime.withId(animeFound.getId()))
-                .flatMap(validAnime -> animeRepository.save(anime))
-//                .thenEmpty(Mono.empty());
-                .then();
+        Mono<Integer> updatedRows = anime.getVersion() == null
+                ? animeRepository.updateName(anime.getId(), anime.getName())
+                : animeRepository.updateName(anime.getId(), anime.getName(), anime.getVersion());
+        return updatedRows
+                .flatMap(rows -> rows > 0 ? Mono.<Void>empty() : notFoundOrConflict(anime.getId(), anime.getVersion()))
+                .doOnSuccess(updated -> animeSuggestIndex.put(anime))
+                .doFinally(signalType -> animeCache.evict(anime.getId()));
     }
 
     public Mono<Void> delete(int id) {
-        return findById(id)
-                .flatMap(animeRepository::delete);
+        return delete(id, null);
+    }
+
+    public Mono<Void> delete(int id, Integer version) {
+        Mono<Integer> deletedRows = version == null
+                ? animeRepository.deleteRow(id)
+                : animeRepository.deleteRow(id, version);
+        return deletedRows
+                .flatMap(rows -> rows > 0 ? Mono.<Void>empty() : notFoundOrConflict(id, version))
+                .doOnSuccess(deleted -> animeSuggestIndex.remove(id))
+                .doFinally(signalType -> animeCache.evict(id));
+    }
+
+    private <T> Mono<T> notFoundOrConflict(int id, Integer version) {
+        if (version == null) {
+            return monoResponseStatusNotFoundException();
+        }
+        return animeRepository.existsById(id)
+                .flatMap(exists -> exists
+                        ? Mono.error(DomainException.ANIME_CONFLICT)
+                        : monoResponseStatusNotFoundException());
     }
 }
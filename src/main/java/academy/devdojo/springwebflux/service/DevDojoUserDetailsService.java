@@ -1,21 +1,38 @@
 package academy.devdojo.springwebflux.service;
 
 import academy.devdojo.springwebflux.repository.DevDojoUserRepository;
+import com.github.benmanes.caffeine.cache.AsyncCache;
 import lombok.AllArgsConstructor;
 import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Mono;
 
+import java.util.Collection;
+
 @AllArgsConstructor
 @Service
 public class DevDojoUserDetailsService implements ReactiveUserDetailsService {
 
     private final DevDojoUserRepository devDojoUserRepository;
+    private final AsyncCache<String, UserDetails> principalCache;
 
     @Override
     public Mono<UserDetails> findByUsername(String username) {
-        return devDojoUserRepository.findByUsername(username)
-                .cast(UserDetails.class);
+        return Mono.fromFuture(principalCache.get(username, (key, executor) -> devDojoUserRepository.findByUsername(key)
+                .cast(UserDetails.class)
+                .toFuture()), true);
+    }
+
+    public void evict(String username) {
+        principalCache.synchronous().invalidate(username);
+    }
+
+    public void evict(Collection<String> usernames) {
+        principalCache.synchronous().invalidateAll(usernames);
+    }
+
+    public void evictAll() {
+        principalCache.synchronous().invalidateAll();
     }
 }
@@ -0,0 +1,16 @@
+CREATE SCHEMA IF NOT EXISTS anime;
+
+CREATE TABLE IF NOT EXISTS anime.anime
+(
+    id   SERIAL PRIMARY KEY,
+    name VARCHAR(255) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS anime.devdojo_user
+(
+    id          SERIAL PRIMARY KEY,
+    name        VARCHAR(255) NOT NULL,
+    username    VARCHAR(255) NOT NULL UNIQUE,
+    password    VARCHAR(255) NOT NULL,
+    authorities VARCHAR(255) NOT NULL
+);
@@ -0,0 +1,27 @@
+ALTER TABLE anime.anime ADD COLUMN IF NOT EXISTS version INTEGER NOT NULL DEFAULT 0;
+
+CREATE TABLE IF NOT EXISTS anime.catalog_version
+(
+    id      BOOLEAN PRIMARY KEY DEFAULT TRUE CHECK (id),
+    version BIGINT  NOT NULL
+);
+
+INSERT INTO anime.catalog_version (version) VALUES (0) ON CONFLICT DO NOTHING;
+
+-- Deferred to commit so the counter row is locked only while committing, and bumped once per transaction
+CREATE OR REPLACE FUNCTION anime.bump_catalog_version() RETURNS trigger AS $$
+BEGIN
+    IF current_setting('anime.catalog_version_bumped', true) IS DISTINCT FROM 'on' THEN
+        UPDATE anime.catalog_version SET version = version + 1;
+        PERFORM set_config('anime.catalog_version_bumped', 'on', true);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS anime_catalog_version ON anime.anime;
+
+CREATE CONSTRAINT TRIGGER anime_catalog_version
+    AFTER INSERT OR UPDATE OR DELETE ON anime.anime
+    DEFERRABLE INITIALLY DEFERRED
+    FOR EACH ROW EXECUTE FUNCTION anime.bump_catalog_version();
@@ -0,0 +1,4 @@
+-- Search filters with the % operator and ranks by similarity(), both backed by this index
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS anime_name_trgm_idx ON anime.anime USING gin (name gin_trgm_ops);
@@ -0,0 +1,30 @@
+-- One notification per statement, split so each payload stays under the 8000 byte pg_notify limit
+CREATE OR REPLACE FUNCTION anime.notify_anime_change() RETURNS trigger AS $$
+DECLARE
+    payload text;
+BEGIN
+    FOR payload IN
+        SELECT json_build_object('type', TG_OP, 'changes', json_agg(change ORDER BY id))::text
+        FROM (SELECT id, change, sum(octet_length(change::text)) OVER (ORDER BY id) / 6000 AS chunk
+              FROM (SELECT id, json_build_object('id', id, 'name', name, 'version', version) AS change
+                    FROM changed_rows) changes) chunked_changes
+        GROUP BY chunk
+        ORDER BY chunk
+    LOOP
+        PERFORM pg_notify('anime_changes', payload);
+    END LOOP;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER anime_change_insert
+    AFTER INSERT ON anime.anime REFERENCING NEW TABLE AS changed_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION anime.notify_anime_change();
+
+CREATE TRIGGER anime_change_update
+    AFTER UPDATE ON anime.anime REFERENCING NEW TABLE AS changed_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION anime.notify_anime_change();
+
+CREATE TRIGGER anime_change_delete
+    AFTER DELETE ON anime.anime REFERENCING OLD TABLE AS changed_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION anime.notify_anime_change();
@@ -0,0 +1,35 @@
+CREATE OR REPLACE FUNCTION anime.notify_cache_invalidation() RETURNS trigger AS $$
+DECLARE
+    payload text;
+BEGIN
+    FOR payload IN EXECUTE format(
+            'SELECT json_build_object(''cache'', %L, ''keys'', json_agg(key))::text
+             FROM (SELECT key, (row_number() OVER () - 1) / %s AS chunk
+                   FROM (SELECT DISTINCT %I AS key FROM changed_rows) distinct_keys) chunked_keys
+             GROUP BY chunk', TG_ARGV[0], TG_ARGV[2], TG_ARGV[1])
+    LOOP
+        PERFORM pg_notify('cache_invalidation', payload);
+    END LOOP;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER anime_cache_insert
+    AFTER INSERT ON anime.anime REFERENCING NEW TABLE AS changed_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION anime.notify_cache_invalidation('anime', 'id', '500');
+
+CREATE TRIGGER anime_cache_update
+    AFTER UPDATE ON anime.anime REFERENCING OLD TABLE AS changed_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION anime.notify_cache_invalidation('anime', 'id', '500');
+
+CREATE TRIGGER anime_cache_delete
+    AFTER DELETE ON anime.anime REFERENCING OLD TABLE AS changed_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION anime.notify_cache_invalidation('anime', 'id', '500');
+
+CREATE TRIGGER principal_cache_update
+    AFTER UPDATE ON anime.devdojo_user REFERENCING OLD TABLE AS changed_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION anime.notify_cache_invalidation('principal', 'username', '25');
+
+CREATE TRIGGER principal_cache_delete
+    AFTER DELETE ON anime.devdojo_user REFERENCING OLD TABLE AS changed_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION anime.notify_cache_invalidation('principal', 'username', '25');
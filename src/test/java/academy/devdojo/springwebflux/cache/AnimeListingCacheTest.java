@@ -0,0 +1,47 @@
+package academy.devdojo.springwebflux.cache;
+
+import academy.devdojo.springwebflux.domain.Anime;
+import academy.devdojo.springwebflux.util.AnimeCreator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class AnimeListingCacheTest {
+
+    private final AnimeListingCache animeListingCache = new AnimeListingCache(new ObjectMapper(), Schedulers.immediate());
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private Flux<Anime> load() {
+        return Flux.defer(() -> {
+            loads.incrementAndGet();
+            return Flux.just(AnimeCreator.createValidAnime());
+        });
+    }
+
+    @Test
+    @DisplayName("get encodes the listing once per catalog version")
+    public void get_ReusesEncodedListing_WhenVersionIsUnchanged() {
+        byte[] first = animeListingCache.get("41", this::load).block();
+        byte[] second = animeListingCache.get("41", this::load).block();
+
+        Assertions.assertSame(first, second);
+        Assertions.assertEquals(1, loads.get());
+        Assertions.assertEquals("[{\"id\":1,\"name\":\"Pokemon\",\"version\":2}]", new String(first, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("get rebuilds the listing when the catalog version changes")
+    public void get_RebuildsListing_WhenVersionChanges() {
+        animeListingCache.get("41", this::load).block();
+        animeListingCache.get("42", this::load).block();
+
+        Assertions.assertEquals(2, loads.get());
+    }
+}
@@ -0,0 +1,73 @@
+package academy.devdojo.springwebflux.cache;
+
+import academy.devdojo.springwebflux.domain.Anime;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+
+class AnimeSuggestIndexTest {
+
+    private final AnimeSuggestIndex animeSuggestIndex = new AnimeSuggestIndex(Schedulers.immediate());
+
+    private final Anime naruto = Anime.builder().id(1).name("Naruto").build();
+    private final Anime narutoShippuden = Anime.builder().id(2).name("Naruto Shippuden").build();
+    private final Anime pokemon = Anime.builder().id(3).name("Pokémon").build();
+
+    @BeforeEach
+    public void setUp() {
+        animeSuggestIndex.rebuild(List.of(pokemon, narutoShippuden, naruto)).block();
+    }
+
+    @Test
+    @DisplayName("suggest returns the animes starting with the prefix in name order")
+    public void suggest_ReturnsAnimesInNameOrder_WhenPrefixMatches() {
+        Assertions.assertEquals(List.of(naruto, narutoShippuden), animeSuggestIndex.suggest("nar", 10));
+        Assertions.assertEquals(List.of(naruto), animeSuggestIndex.suggest("NAR", 1));
+        Assertions.assertTrue(animeSuggestIndex.suggest("shippuden", 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("suggest ignores case and accents")
+    public void suggest_IgnoresAccents_WhenPrefixHasNone() {
+        Assertions.assertEquals(List.of(pokemon), animeSuggestIndex.suggest("poke", 10));
+        Assertions.assertEquals(List.of(pokemon), animeSuggestIndex.suggest("POKÉ", 10));
+    }
+
+    @Test
+    @DisplayName("suggest reflects renames, inserts and removals made after the rebuild")
+    public void suggest_ReflectsChanges_WhenIndexIsUpdated() {
+        Anime renamed = naruto.withName("Boruto");
+        Anime inserted = Anime.builder().id(4).name("Nana").build();
+
+        animeSuggestIndex.put(renamed);
+        animeSuggestIndex.put(inserted);
+        animeSuggestIndex.remove(narutoShippuden.getId());
+
+        Assertions.assertEquals(List.of(inserted), animeSuggestIndex.suggest("na", 10));
+        Assertions.assertEquals(List.of(renamed), animeSuggestIndex.suggest("bo", 10));
+        Assertions.assertEquals(3, animeSuggestIndex.size());
+    }
+
+    @Test
+    @DisplayName("rebuild keeps renames, inserts and removals made while its snapshot was being read")
+    public void rebuild_KeepsChanges_WhenMadeWhileSnapshotIsRead() {
+        Sinks.One<List<Anime>> snapshot = Sinks.one();
+        Anime renamed = naruto.withName("Boruto");
+        Anime inserted = Anime.builder().id(4).name("Nana").build();
+
+        animeSuggestIndex.rebuild(snapshot.asMono()).subscribe();
+        animeSuggestIndex.put(renamed);
+        animeSuggestIndex.put(inserted);
+        animeSuggestIndex.remove(narutoShippuden.getId());
+        snapshot.tryEmitValue(List.of(pokemon, narutoShippuden, naruto));
+
+        Assertions.assertEquals(List.of(inserted), animeSuggestIndex.suggest("na", 10));
+        Assertions.assertEquals(List.of(renamed), animeSuggestIndex.suggest("bo", 10));
+        Assertions.assertEquals(3, animeSuggestIndex.size());
+    }
+}
@@ -1,14 +1,19 @@
 package academy.devdojo.springwebflux.controller;
 
+import academy.devdojo.springwebflux.config.CacheControlProperties;
 import academy.devdojo.springwebflux.domain.Anime;
+import academy.devdojo.springwebflux.exception.DomainException;
+import academy.devdojo.springwebflux.notification.AnimeChangeFeed;
+import academy.devdojo.springwebflux.service.AnimeBatchService;
+import academy.devdojo.springwebflux.service.AnimeImportService;
 import academy.devdojo.springwebflux.service.AnimeService;
 import academy.devdojo.springwebflux.util.AnimeCreator;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentMatchers;
 import org.mockito.BDDMockito;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.springframework.http.HttpEntity;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import reactor.blockhound.BlockHound;
 import reactor.blockhound.BlockingOperationError;
@@ -17,6 +22,7 @@ import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Schedulers;
 import reactor.test.StepVerifier;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.FutureTask;
@@ -26,12 +32,20 @@ import java.util.concurrent.TimeoutException;
 @ExtendWith(SpringExtension.class)
 class AnimeControllerTest {
 
-    @InjectMocks
     private AnimeController animeController;
 
     @Mock
     private AnimeService animeService;
 
+    @Mock
+    private AnimeImportService animeImportService;
+
+    @Mock
+    private AnimeBatchService animeBatchService;
+
+    @Mock
+    private AnimeChangeFeed animeChangeFeed;
+
     private final Anime anime = AnimeCreator.createValidAnime();
 
     @BeforeAll
@@ -57,8 +71,8 @@ class AnimeControllerTest {
 
     @BeforeEach
     public void setUp() {
-        BDDMockito.when(animeService.findAll())
-                .thenReturn(Flux.just(anime));
+        animeController = new AnimeController(animeService, animeImportService, animeBatchService, animeChangeFeed,
+                new CacheControlProperties(Duration.ZERO, true, true));
 
         BDDMockito.when(animeService.findById(ArgumentMatchers.anyInt()))
                 .thenReturn(Mono.just(anime));
@@ -70,7 +84,7 @@ class AnimeControllerTest {
                         .saveAll(List.of(AnimeCreator.createAnimeToBeSaved(), AnimeCreator.createAnimeToBeSaved())))
                 .thenReturn(Flux.just(anime, anime));
 
-        BDDMockito.when(animeService.delete(ArgumentMatchers.anyInt()))
+        BDDMockito.when(animeService.delete(ArgumentMatchers.anyInt(), ArgumentMatchers.isNull()))
                 .thenReturn(Mono.empty());
 
         BDDMockito.when(animeService.update(AnimeCreator.createValidAnime()))
@@ -78,20 +92,23 @@ class AnimeControllerTest {
     }
 
     @Test
-    @DisplayName("findAll returns a flux of anime")
-    public void listAll_ReturnsFluxOfAnime_WhenSuccessful() {
-        StepVerifier.create(animeController.listAll())
+    @DisplayName("findById returns Mono with anime when it exists")
+    public void findById_ReturnsMonoAnime_WhenSuccessful() {
+        StepVerifier.create(animeController.findById(1).map(HttpEntity::getBody))
                 .expectSubscription()
                 .expectNext(anime)
                 .verifyComplete();
     }
 
     @Test
-    @DisplayName("findById returns Mono with anime when it exists")
-    public void findById_ReturnsMonoAnime_WhenSuccessful() {
+    @DisplayName("findById returns the row version as a strong ETag with Cache-Control")
+    public void findById_ReturnsETag_WhenSuccessful() {
         StepVerifier.create(animeController.findById(1))
                 .expectSubscription()
-                .expectNext(anime)
+                .assertNext(response -> {
+                    Assertions.assertEquals("\"1-2\"", response.getHeaders().getETag());
+                    Assertions.assertEquals("max-age=0, must-revalidate, private", response.getHeaders().getCacheControl());
+                })
                 .verifyComplete();
     }
 
@@ -120,7 +137,7 @@ class AnimeControllerTest {
     @Test
     @DisplayName("delete removes the anime when successful")
     public void delete_RemovesAnime_WhenSuccessful() {
-        StepVerifier.create(animeController.delete(1))
+        StepVerifier.create(animeController.delete(1, null))
                 .expectSubscription()
                 .verifyComplete();
     }
@@ -128,8 +145,27 @@ class AnimeControllerTest {
     @Test
     @DisplayName("update save updated anime and returns empty mono when successful")
     public void update_SaveUpdatedAnime_WhenSuccessful() {
-        StepVerifier.create(animeController.update(1, AnimeCreator.createValidAnime()))
+        StepVerifier.create(animeController.update(1, AnimeCreator.createValidAnime(), null))
                 .expectSubscription()
                 .verifyComplete();
     }
+
+    @Test
+    @DisplayName("update passes the If-Match version to the service instead of the body version")
+    public void update_UsesIfMatchVersion_WhenHeaderIsPresent() {
+        BDDMockito.when(animeService.update(AnimeCreator.createValidAnime().withVersion(1)))
+                .thenReturn(Mono.error(DomainException.ANIME_CONFLICT));
+
+        StepVerifier.create(animeController.update(1, AnimeCreator.createValidAnime(), "\"1-1\""))
+                .expectSubscription()
+                .expectErrorMatches(e -> e == DomainException.ANIME_CONFLICT)
+                .verify();
+    }
+
+    @Test
+    @DisplayName("update throws precondition failed when If-Match carries the ETag of another anime")
+    public void update_ThrowsPreconditionFailed_WhenIfMatchIsForAnotherAnime() {
+        Assertions.assertSame(DomainException.IF_MATCH_MISMATCH, Assertions.assertThrows(DomainException.class,
+                () -> animeController.update(1, AnimeCreator.createValidAnime(), "\"2-2\"")));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,60 @@
+package academy.devdojo.springwebflux.controller;
+
+import academy.devdojo.springwebflux.config.CacheControlProperties;
+import academy.devdojo.springwebflux.domain.Anime;
+import academy.devdojo.springwebflux.service.AnimeService;
+import academy.devdojo.springwebflux.util.AnimeCreator;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.BDDMockito;
+import org.mockito.Mock;
+import org.springframework.http.HttpEntity;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+@ExtendWith(SpringExtension.class)
+class AnimeListingControllerTest {
+
+    private AnimeListingController animeListingController;
+
+    @Mock
+    private AnimeService animeService;
+
+    private final Anime anime = AnimeCreator.createValidAnime();
+
+    @BeforeEach
+    public void setUp() {
+        animeListingController = new AnimeListingController(animeService, new CacheControlProperties(Duration.ZERO, true, true));
+
+        BDDMockito.when(animeService.catalogVersion())
+                .thenReturn(Mono.just("42"));
+
+        BDDMockito.when(animeService.findAll())
+                .thenReturn(Flux.just(anime));
+    }
+
+    @Test
+    @DisplayName("listAll returns a flux of anime")
+    public void listAll_ReturnsFluxOfAnime_WhenSuccessful() {
+        StepVerifier.create(animeListingController.listAll().flatMapMany(HttpEntity::getBody))
+                .expectSubscription()
+                .expectNext(anime)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("listAll returns the catalog version as the ETag")
+    public void listAll_ReturnsCatalogETag_WhenSuccessful() {
+        StepVerifier.create(animeListingController.listAll())
+                .expectSubscription()
+                .assertNext(response -> Assertions.assertEquals("\"animes-42\"", response.getHeaders().getETag()))
+                .verifyComplete();
+    }
+}
@@ -0,0 +1,82 @@
+package academy.devdojo.springwebflux.controller;
+
+import academy.devdojo.springwebflux.domain.Anime;
+import academy.devdojo.springwebflux.domain.ImportProgress;
+import academy.devdojo.springwebflux.exception.DomainException;
+import academy.devdojo.springwebflux.service.AnimeImportService;
+import academy.devdojo.springwebflux.service.AnimeService;
+import academy.devdojo.springwebflux.util.AnimeCreator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.BDDMockito;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+@ExtendWith(SpringExtension.class)
+class AnimeRSocketControllerTest {
+
+    @InjectMocks
+    private AnimeRSocketController animeRSocketController;
+
+    @Mock
+    private AnimeService animeService;
+
+    @Mock
+    private AnimeImportService animeImportService;
+
+    private final Anime anime = AnimeCreator.createValidAnime();
+
+    @Test
+    @DisplayName("findById returns the anime from the service")
+    public void findById_ReturnsAnime_WhenSuccessful() {
+        BDDMockito.when(animeService.findById(1))
+                .thenReturn(Mono.just(anime));
+
+        StepVerifier.create(animeRSocketController.findById(1))
+                .expectNext(anime)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("streamAll honours the requester's demand")
+    public void streamAll_EmitsOnDemand_WhenRequested() {
+        BDDMockito.when(animeService.streamAll())
+                .thenReturn(Flux.just(anime, anime, anime));
+
+        StepVerifier.create(animeRSocketController.streamAll(), 1)
+                .expectNext(anime)
+                .thenRequest(2)
+                .expectNext(anime, anime)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("importAll relays the import progress for the incoming channel")
+    public void importAll_ReturnsProgress_WhenSuccessful() {
+        ImportProgress progress = new ImportProgress(1, 1, List.of());
+        BDDMockito.when(animeImportService.importAll(ArgumentMatchers.any()))
+                .thenReturn(Flux.just(progress));
+
+        StepVerifier.create(animeRSocketController.importAll(Flux.just(anime)))
+                .expectNext(progress)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("delete completes quietly when the anime does not exist, since fire-and-forget has no one to answer")
+    public void delete_Completes_WhenAnimeIsNotFound() {
+        BDDMockito.when(animeService.delete(1))
+                .thenReturn(Mono.error(DomainException.ANIME_NOT_FOUND));
+
+        StepVerifier.create(animeRSocketController.delete(1))
+                .verifyComplete();
+    }
+}
@@ -0,0 +1,67 @@
+package academy.devdojo.springwebflux.controller;
+
+import academy.devdojo.springwebflux.cache.AnimeListingCache;
+import academy.devdojo.springwebflux.config.CacheControlProperties;
+import academy.devdojo.springwebflux.service.AnimeService;
+import academy.devdojo.springwebflux.util.AnimeCreator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.BDDMockito;
+import org.mockito.Mock;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+@ExtendWith(SpringExtension.class)
+class CachedAnimeListingControllerTest {
+
+    private CachedAnimeListingController cachedAnimeListingController;
+
+    @Mock
+    private AnimeService animeService;
+
+    @BeforeEach
+    public void setUp() {
+        cachedAnimeListingController = new CachedAnimeListingController(animeService,
+                new AnimeListingCache(new ObjectMapper(), Schedulers.immediate()), new CacheControlProperties(Duration.ZERO, true, true));
+
+        BDDMockito.when(animeService.catalogVersion())
+                .thenReturn(Mono.just("42"));
+
+        BDDMockito.when(animeService.findAll())
+                .thenReturn(Flux.just(AnimeCreator.createValidAnime()));
+    }
+
+    @Test
+    @DisplayName("listAll returns the pre-encoded JSON listing with the catalog ETag")
+    public void listAll_ReturnsEncodedListing_WhenSuccessful() {
+        StepVerifier.create(cachedAnimeListingController.listAll())
+                .expectSubscription()
+                .assertNext(response -> {
+                    Assertions.assertEquals("\"animes-42\"", response.getHeaders().getETag());
+                    Assertions.assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+                    Assertions.assertEquals("[{\"id\":1,\"name\":\"Pokemon\",\"version\":2}]",
+                            new String(response.getBody(), StandardCharsets.UTF_8));
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("listAll loads the animes once while the catalog version is unchanged")
+    public void listAll_ReusesEncodedListing_WhenVersionIsUnchanged() {
+        cachedAnimeListingController.listAll().block();
+        cachedAnimeListingController.listAll().block();
+
+        BDDMockito.verify(animeService, BDDMockito.times(1)).findAll();
+    }
+}
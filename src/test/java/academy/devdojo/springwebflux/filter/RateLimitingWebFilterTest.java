@@ -0,0 +1,103 @@
+package academy.devdojo.springwebflux.filter;
+
+import academy.devdojo.springwebflux.config.RateLimitProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+class RateLimitingWebFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final RateLimitingWebFilter filter = new RateLimitingWebFilter(new RateLimitProperties(true, "/animes", 100, Duration.ofMinutes(1),
+            new RateLimitProperties.Limit(1, 2, 1000, 1000, 10),
+            new RateLimitProperties.Limit(1000, 1000, 1000, 1000, 1),
+            new RateLimitProperties.Limit(1, 1, 1, 1, 1),
+            new RateLimitProperties.Limit(1000, 1000, 1000, 1000, 3)), meterRegistry);
+
+    private final WebFilterChain chain = exchange -> Mono.empty();
+
+    @Test
+    @DisplayName("filter returns too many requests with Retry-After once the principal burst is spent")
+    public void filter_ReturnsTooManyRequests_WhenPrincipalBurstIsSpent() {
+        for (int request = 0; request < 2; request++) {
+            MockServerWebExchange admitted = MockServerWebExchange.from(MockServerHttpRequest.get("/animes/1"));
+            StepVerifier.create(filter.filter(admitted, chain)).verifyComplete();
+            Assertions.assertNull(admitted.getResponse().getStatusCode());
+        }
+
+        MockServerWebExchange rejected = MockServerWebExchange.from(MockServerHttpRequest.get("/animes/1"));
+        StepVerifier.create(filter.filter(rejected, chain)).verifyComplete();
+
+        Assertions.assertEquals(HttpStatus.TOO_MANY_REQUESTS, rejected.getResponse().getStatusCode());
+        Assertions.assertEquals("1", rejected.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        Assertions.assertEquals(1, meterRegistry.get("anime.rate.limit.rejections")
+                .tag("endpoint", "read").tag("reason", "principal").counter().count());
+    }
+
+    @Test
+    @DisplayName("filter rejects a second concurrent write until the first one completes")
+    public void filter_ReturnsTooManyRequests_WhenBulkheadIsFull() {
+        Sinks.Empty<Void> inFlight = Sinks.empty();
+        WebFilterChain slowChain = exchange -> inFlight.asMono();
+        MockServerWebExchange first = MockServerWebExchange.from(MockServerHttpRequest.delete("/animes/1"));
+        MockServerWebExchange second = MockServerWebExchange.from(MockServerHttpRequest.delete("/animes/2"));
+        MockServerWebExchange third = MockServerWebExchange.from(MockServerHttpRequest.delete("/animes/3"));
+
+        filter.filter(first, slowChain).subscribe();
+        StepVerifier.create(filter.filter(second, chain)).verifyComplete();
+        Assertions.assertEquals(HttpStatus.TOO_MANY_REQUESTS, second.getResponse().getStatusCode());
+
+        inFlight.tryEmitEmpty();
+        StepVerifier.create(filter.filter(third, chain)).verifyComplete();
+        Assertions.assertNull(third.getResponse().getStatusCode());
+    }
+
+    @Test
+    @DisplayName("filter keeps admitting findById while open streams hold every stream permit")
+    public void filter_AdmitsReads_WhenStreamBulkheadIsFull() {
+        Sinks.Empty<Void> open = Sinks.empty();
+        WebFilterChain streamChain = exchange -> open.asMono();
+        for (int stream = 0; stream < 3; stream++) {
+            MockServerWebExchange subscriber = MockServerWebExchange.from(stream % 2 == 0
+                    ? MockServerHttpRequest.get("/animes/changes")
+                    : MockServerHttpRequest.get("/animes").accept(MediaType.APPLICATION_NDJSON));
+            filter.filter(subscriber, streamChain).subscribe();
+        }
+
+        MockServerWebExchange extraStream = MockServerWebExchange.from(MockServerHttpRequest.get("/animes")
+                .accept(MediaType.TEXT_EVENT_STREAM));
+        StepVerifier.create(filter.filter(extraStream, chain)).verifyComplete();
+        Assertions.assertEquals(HttpStatus.TOO_MANY_REQUESTS, extraStream.getResponse().getStatusCode());
+
+        MockServerWebExchange findById = MockServerWebExchange.from(MockServerHttpRequest.get("/animes/1"));
+        StepVerifier.create(filter.filter(findById, chain)).verifyComplete();
+        Assertions.assertNull(findById.getResponse().getStatusCode());
+        Assertions.assertEquals(1, meterRegistry.get("anime.rate.limit.rejections")
+                .tag("endpoint", "stream").tag("reason", "bulkhead").counter().count());
+
+        open.tryEmitEmpty();
+    }
+
+    @Test
+    @DisplayName("filter ignores paths outside the configured prefix")
+    public void filter_PassesThrough_WhenPathIsNotRateLimited() {
+        for (int request = 0; request < 5; request++) {
+            MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/actuator/health"));
+            StepVerifier.create(filter.filter(exchange, chain)).verifyComplete();
+            Assertions.assertNull(exchange.getResponse().getStatusCode());
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package academy.devdojo.springwebflux.integration;
 
+import academy.devdojo.springwebflux.cache.AnimeCache;
 import academy.devdojo.springwebflux.domain.Anime;
 import academy.devdojo.springwebflux.exception.CustomAttributes;
 import academy.devdojo.springwebflux.repository.AnimeRepository;
@@ -16,6 +17,7 @@ import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithUserDetails;
 import org.springframework.test.context.ContextConfiguration;
@@ -50,6 +52,9 @@ public class AnimeControllerIT {
     @Autowired
     private WebTestClient client;
 
+    @Autowired
+    private AnimeCache animeCache;
+
     private final Anime anime = AnimeCreator.createValidAnime();
 
     @BeforeAll
@@ -59,10 +64,14 @@ public class AnimeControllerIT {
 
     @BeforeEach
     public void setup() {
+        animeCache.invalidateAll();
 
         BDDMockito.when(animeRepositoryMock.findAll())
                 .thenReturn(Flux.just(anime));
 
+        BDDMockito.when(animeRepositoryMock.catalogVersion())
+                .thenReturn(Mono.just("42"));
+
         BDDMockito.when(animeRepositoryMock.findById(ArgumentMatchers.anyInt()))
                 .thenReturn(Mono.just(anime));
 
@@ -70,14 +79,17 @@ public class AnimeControllerIT {
                 .thenReturn(Mono.just(anime));
 
         BDDMockito.when(animeRepositoryMock
-                .saveAll(List.of(AnimeCreator.createAnimeToBeSaved(), AnimeCreator.createAnimeToBeSaved())))
+                .insertAll(List.of(AnimeCreator.createAnimeToBeSaved(), AnimeCreator.createAnimeToBeSaved())))
                 .thenReturn(Flux.just(anime, anime));
 
-        BDDMockito.when(animeRepositoryMock.delete(ArgumentMatchers.any()))
-                .thenReturn(Mono.empty());
+        BDDMockito.when(animeRepositoryMock.deleteRow(ArgumentMatchers.anyInt()))
+                .thenReturn(Mono.just(1));
 
-        BDDMockito.when(animeRepositoryMock.save(AnimeCreator.createValidAnime()))
-                .thenReturn(Mono.empty());
+        BDDMockito.when(animeRepositoryMock.updateName(ArgumentMatchers.anyInt(), ArgumentMatchers.anyString()))
+                .thenReturn(Mono.just(1));
+
+        BDDMockito.when(animeRepositoryMock.updateName(ArgumentMatchers.anyInt(), ArgumentMatchers.anyString(), ArgumentMatchers.anyInt()))
+                .thenReturn(Mono.just(1));
     }
 
     @Test
@@ -158,6 +170,37 @@ public class AnimeControllerIT {
                 .isEqualTo(anime);
     }
 
+    @Test
+    @DisplayName("findById returns not modified without a body when the ETag still matches")
+    @WithUserDetails(REGULAR_USER)
+    public void findById_ReturnsNotModified_WhenETagMatches() {
+        client
+                .get()
+                .uri("/animes/{id}", 1)
+                .ifNoneMatch("\"1-2\"")
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectHeader().valueEquals("ETag", "\"1-2\"")
+                .expectBody().isEmpty();
+    }
+
+    @Test
+    @DisplayName("listAll returns not modified without loading the animes when the catalog ETag still matches")
+    @WithUserDetails(REGULAR_ADMIN)
+    public void listAll_ReturnsNotModified_WhenETagMatches() {
+        BDDMockito.clearInvocations(animeRepositoryMock);
+
+        client
+                .get()
+                .uri("/animes")
+                .ifNoneMatch("\"animes-42\"")
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectBody().isEmpty();
+
+        BDDMockito.verify(animeRepositoryMock, BDDMockito.never()).findAll();
+    }
+
     @Test
     @DisplayName("findById returns Mono error when anime not it exists and user is successfully authenticated and has role USER")
     @WithUserDetails(REGULAR_USER)
@@ -242,8 +285,8 @@ public class AnimeControllerIT {
     @DisplayName("delete returns Mono error whene anime does not exist and user is successfully authenticated and has role ADMIN")
     @WithUserDetails(REGULAR_ADMIN)
     public void delete_ReturnMonoError_WhenEmptyMonoIsReturned() {
-        BDDMockito.when(animeRepositoryMock.findById(ArgumentMatchers.anyInt()))
-                .thenReturn(Mono.empty());
+        BDDMockito.when(animeRepositoryMock.deleteRow(ArgumentMatchers.anyInt()))
+                .thenReturn(Mono.just(0));
 
         client
                 .delete()
@@ -272,18 +315,90 @@ public class AnimeControllerIT {
     @DisplayName("update save updated anime and returns empty mono when successful and user is successfully authenticated and has role ADMIN")
     @WithUserDetails(REGULAR_ADMIN)
     public void update_ReturnMonoError_WhenEmptyMonoIsReturned() {
-        BDDMockito.when(animeRepositoryMock.findById(ArgumentMatchers.anyInt()))
-                .thenReturn(Mono.empty());
+        BDDMockito.when(animeRepositoryMock.updateName(ArgumentMatchers.anyInt(), ArgumentMatchers.anyString()))
+                .thenReturn(Mono.just(0));
 
         client
                 .put()
                 .uri("/animes/{id}", 1)
                 .contentType(MediaType.APPLICATION_JSON)
-                .body(BodyInserters.fromValue(anime))
+                .body(BodyInserters.fromValue(anime.withVersion(null)))
                 .exchange()
                 .expectStatus().isNotFound()
                 .expectBody()
                 .jsonPath("$.status").isEqualTo(404)
                 .jsonPath("$.developerMessage").isEqualTo("A ResponseStatusException Happened");
     }
+
+    @Test
+    @DisplayName("update returns conflict when If-Match carries a stale version and user has role ADMIN")
+    @WithUserDetails(REGULAR_ADMIN)
+    public void update_ReturnsConflict_WhenIfMatchIsStale() {
+        BDDMockito.when(animeRepositoryMock.updateName(1, anime.getName(), 3))
+                .thenReturn(Mono.just(0));
+        BDDMockito.when(animeRepositoryMock.existsById(1))
+                .thenReturn(Mono.just(true));
+
+        client
+                .put()
+                .uri("/animes/{id}", 1)
+                .ifMatch("\"1-3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(BodyInserters.fromValue(anime))
+                .exchange()
+                .expectStatus().isEqualTo(409)
+                .expectBody()
+                .jsonPath("$.status").isEqualTo(409);
+    }
+
+    @Test
+    @DisplayName("update returns precondition failed when If-Match carries the ETag of another anime and user has role ADMIN")
+    @WithUserDetails(REGULAR_ADMIN)
+    public void update_ReturnsPreconditionFailed_WhenIfMatchIsForAnotherAnime() {
+        client
+                .put()
+                .uri("/animes/{id}", 1)
+                .ifMatch("\"2-2\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(BodyInserters.fromValue(anime))
+                .exchange()
+                .expectStatus().isEqualTo(412)
+                .expectBody()
+                .jsonPath("$.status").isEqualTo(412);
+
+        BDDMockito.verify(animeRepositoryMock, BDDMockito.never())
+                .updateName(ArgumentMatchers.eq(1), ArgumentMatchers.anyString(), ArgumentMatchers.anyInt());
+    }
+
+    @Test
+    @DisplayName("delete returns conflict when If-Match carries a stale version and user has role ADMIN")
+    @WithUserDetails(REGULAR_ADMIN)
+    public void delete_ReturnsConflict_WhenIfMatchIsStale() {
+        BDDMockito.when(animeRepositoryMock.deleteRow(1, 1))
+                .thenReturn(Mono.just(0));
+        BDDMockito.when(animeRepositoryMock.existsById(1))
+                .thenReturn(Mono.just(true));
+
+        client
+                .delete()
+                .uri("/animes/{id}", 1)
+                .header(HttpHeaders.IF_MATCH, "\"1-1\"")
+                .exchange()
+                .expectStatus().isEqualTo(409)
+                .expectBody()
+                .jsonPath("$.status").isEqualTo(409);
+    }
+
+    @Test
+    @DisplayName("updateBatch returns forbidden when user does not have role ADMIN")
+    @WithUserDetails(REGULAR_USER)
+    public void updateBatch_ReturnsForbidden_WhenUserDoesNotHaveRoleAdmin() {
+        client
+                .patch()
+                .uri("/animes/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(BodyInserters.fromValue(List.of(anime)))
+                .exchange()
+                .expectStatus().isForbidden();
+    }
 }
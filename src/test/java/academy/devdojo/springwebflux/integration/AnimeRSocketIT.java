@@ -0,0 +1,187 @@
+package academy.devdojo.springwebflux.integration;
+
+import academy.devdojo.springwebflux.cache.AnimeCache;
+import academy.devdojo.springwebflux.domain.Anime;
+import academy.devdojo.springwebflux.domain.DevDojoUser;
+import academy.devdojo.springwebflux.domain.ImportProgress;
+import academy.devdojo.springwebflux.repository.AnimeRepository;
+import academy.devdojo.springwebflux.repository.DevDojoUserRepository;
+import academy.devdojo.springwebflux.util.AnimeCreator;
+import io.rsocket.metadata.WellKnownMimeType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.BDDMockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.messaging.rsocket.RSocketRequester;
+import org.springframework.security.crypto.factory.PasswordEncoderFactories;
+import org.springframework.security.rsocket.metadata.SimpleAuthenticationEncoder;
+import org.springframework.security.rsocket.metadata.UsernamePasswordMetadata;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.util.MimeType;
+import org.springframework.util.MimeTypeUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest
+public class AnimeRSocketIT {
+
+    private final static String REGULAR_USER = "user";
+    private final static String REGULAR_ADMIN = "jean";
+    private final static String PASSWORD = "devdojo";
+    private final static MimeType SIMPLE_AUTHENTICATION = MimeTypeUtils.parseMimeType(WellKnownMimeType.MESSAGE_RSOCKET_AUTHENTICATION.getString());
+
+    @MockBean
+    private AnimeRepository animeRepositoryMock;
+
+    @MockBean
+    private DevDojoUserRepository devDojoUserRepositoryMock;
+
+    @Autowired
+    private RSocketRequester.Builder requesterBuilder;
+
+    @Autowired
+    private AnimeCache animeCache;
+
+    @Value("${local.rsocket.server.port}")
+    private int port;
+
+    private final List<RSocketRequester> requesters = new ArrayList<>();
+
+    private final Anime anime = AnimeCreator.createValidAnime();
+
+    @BeforeEach
+    public void setUp() {
+        animeCache.invalidateAll();
+
+        String password = PasswordEncoderFactories.createDelegatingPasswordEncoder().encode(PASSWORD);
+        BDDMockito.when(devDojoUserRepositoryMock.findByUsername(ArgumentMatchers.anyString()))
+                .thenReturn(Mono.empty());
+        BDDMockito.when(devDojoUserRepositoryMock.findByUsername(REGULAR_USER))
+                .thenReturn(Mono.just(new DevDojoUser(1, "User", REGULAR_USER, password, "ROLE_USER")));
+        BDDMockito.when(devDojoUserRepositoryMock.findByUsername(REGULAR_ADMIN))
+                .thenReturn(Mono.just(new DevDojoUser(2, "Jean", REGULAR_ADMIN, password, "ROLE_ADMIN,ROLE_USER")));
+
+        BDDMockito.when(animeRepositoryMock.findById(ArgumentMatchers.anyInt()))
+                .thenReturn(Mono.just(anime));
+        BDDMockito.when(animeRepositoryMock.findPageAfter(0, 500))
+                .thenReturn(Flux.fromStream(IntStream.rangeClosed(1, 5)
+                        .mapToObj(id -> Anime.builder().id(id).name("Anime " + id).version(0).build())));
+        BDDMockito.when(animeRepositoryMock.deleteRow(ArgumentMatchers.anyInt()))
+                .thenReturn(Mono.just(1));
+        BDDMockito.when(animeRepositoryMock.insertAll(ArgumentMatchers.anyList()))
+                .thenAnswer(invocation -> Flux.fromIterable(invocation.<List<Anime>>getArgument(0)));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        requesters.forEach(RSocketRequester::dispose);
+    }
+
+    private RSocketRequester requester(String username, String password) {
+        RSocketRequester.Builder builder = requesterBuilder
+                .rsocketStrategies(strategies -> strategies.encoder(new SimpleAuthenticationEncoder()))
+                .dataMimeType(MediaType.APPLICATION_CBOR);
+        if (username != null) {
+            builder = builder.setupMetadata(new UsernamePasswordMetadata(username, password), SIMPLE_AUTHENTICATION);
+        }
+        RSocketRequester requester = builder.tcp("localhost", port);
+        requesters.add(requester);
+        return requester;
+    }
+
+    @Test
+    @DisplayName("find-by-id returns the anime over CBOR when the setup is authenticated with role USER")
+    public void findById_ReturnsAnime_WhenUserIsAuthenticated() {
+        StepVerifier.create(requester(REGULAR_USER, PASSWORD)
+                        .route("animes.find-by-id")
+                        .data(1)
+                        .retrieveMono(Anime.class))
+                .expectNext(anime)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("stream sends only as many animes as the subscriber requested")
+    public void stream_HonoursRequestN_WhenUserHasRoleAdmin() {
+        StepVerifier.create(requester(REGULAR_ADMIN, PASSWORD)
+                        .route("animes.stream")
+                        .retrieveFlux(Anime.class), 2)
+                .expectNextCount(2)
+                .expectNoEvent(Duration.ofMillis(300))
+                .thenRequest(3)
+                .expectNextCount(3)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("stream is denied when the user does not have role ADMIN")
+    public void stream_ReturnsError_WhenUserDoesNotHaveRoleAdmin() {
+        StepVerifier.create(requester(REGULAR_USER, PASSWORD)
+                        .route("animes.stream")
+                        .retrieveFlux(Anime.class))
+                .expectError()
+                .verify(Duration.ofSeconds(5));
+
+        BDDMockito.verify(animeRepositoryMock, BDDMockito.never()).findPageAfter(ArgumentMatchers.anyInt(), ArgumentMatchers.anyInt());
+    }
+
+    @Test
+    @DisplayName("import reports progress for the animes sent on the channel when user has role ADMIN")
+    public void import_ReturnsProgress_WhenUserHasRoleAdmin() {
+        StepVerifier.create(requester(REGULAR_ADMIN, PASSWORD)
+                        .route("animes.import")
+                        .data(Flux.just(AnimeCreator.createAnimeToBeSaved(), AnimeCreator.createAnimeToBeSaved()))
+                        .retrieveFlux(ImportProgress.class))
+                .expectNext(new ImportProgress(2, 2, List.of()))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("delete is applied as fire-and-forget when user has role ADMIN")
+    public void delete_RemovesAnime_WhenUserHasRoleAdmin() {
+        StepVerifier.create(requester(REGULAR_ADMIN, PASSWORD)
+                        .route("animes.delete")
+                        .data(1)
+                        .send())
+                .verifyComplete();
+
+        BDDMockito.verify(animeRepositoryMock, BDDMockito.timeout(5000)).deleteRow(1);
+    }
+
+    @Test
+    @DisplayName("requests fail when the setup carries no credentials")
+    public void findById_ReturnsError_WhenSetupIsUnauthenticated() {
+        StepVerifier.create(requester(null, null)
+                        .route("animes.find-by-id")
+                        .data(1)
+                        .retrieveMono(Anime.class))
+                .expectError()
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    @DisplayName("requests fail when the setup carries a wrong password")
+    public void findById_ReturnsError_WhenPasswordIsWrong() {
+        StepVerifier.create(requester(REGULAR_USER, "wrong")
+                        .route("animes.find-by-id")
+                        .data(1)
+                        .retrieveMono(Anime.class))
+                .expectError()
+                .verify(Duration.ofSeconds(5));
+    }
+}
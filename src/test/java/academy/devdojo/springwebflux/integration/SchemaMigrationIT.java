@@ -0,0 +1,131 @@
+package academy.devdojo.springwebflux.integration;
+
+import academy.devdojo.springwebflux.domain.Anime;
+import academy.devdojo.springwebflux.repository.AnimeRepository;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+import static org.springframework.security.test.web.reactive.server.SecurityMockServerConfigurers.mockUser;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest
+@AutoConfigureWebTestClient
+public class SchemaMigrationIT {
+
+    private static final EmbeddedPostgres postgres = start();
+
+    @Autowired
+    private AnimeRepository animeRepository;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @Autowired
+    private WebTestClient client;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        registry.add("spring.r2dbc.url", () -> "r2dbc:postgresql://localhost:" + postgres.getPort() + "/postgres?schema=anime");
+        registry.add("spring.r2dbc.username", () -> "postgres");
+        registry.add("spring.r2dbc.password", () -> "");
+        registry.add("spring.flyway.enabled", () -> "true");
+        registry.add("spring.flyway.url", () -> "jdbc:postgresql://localhost:" + postgres.getPort() + "/postgres");
+        registry.add("spring.flyway.user", () -> "postgres");
+        registry.add("spring.flyway.password", () -> "");
+    }
+
+    @AfterAll
+    public static void stopDatabase() throws IOException {
+        postgres.close();
+    }
+
+    private static EmbeddedPostgres start() {
+        try {
+            return EmbeddedPostgres.builder().start();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Test
+    @DisplayName("migrations install the version column and bump the catalog version once per committed write")
+    public void save_BumpsCatalogVersion_WhenMigrationsWereApplied() {
+        long before = Long.parseLong(animeRepository.catalogVersion().block());
+
+        StepVerifier.create(animeRepository.save(Anime.builder().name("Cowboy Bebop").build()))
+                .expectNextMatches(anime -> anime.getId() != null && anime.getVersion() == 0)
+                .verifyComplete();
+
+        StepVerifier.create(animeRepository.catalogVersion())
+                .expectNext(String.valueOf(before + 1))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("a versioned update only applies to the version it was read at")
+    public void updateName_AppliesOnce_WhenVersionMatches() {
+        Anime anime = animeRepository.save(Anime.builder().name("Trigun").build()).block();
+
+        StepVerifier.create(animeRepository.updateName(anime.getId(), "Trigun Stampede", anime.getVersion()))
+                .expectNext(1)
+                .verifyComplete();
+
+        StepVerifier.create(animeRepository.updateName(anime.getId(), "Trigun Maximum", anime.getVersion()))
+                .expectNext(0)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("search uses the pg_trgm operators installed by the migrations")
+    public void search_FindsSimilarNames_WhenTrigramExtensionIsInstalled() {
+        animeRepository.save(Anime.builder().name("Fullmetal Alchemist").build()).block();
+
+        StepVerifier.create(animeRepository.search("alchemist", "%alchemist%", "alchemist%", 10, 0)
+                        .map(Anime::getName))
+                .expectNext("Fullmetal Alchemist")
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("migrations install the change feed and cache invalidation triggers")
+    public void migrations_InstallNotifyTriggers() {
+        StepVerifier.create(databaseClient.sql("SELECT tgname FROM pg_trigger WHERE NOT tgisinternal ORDER BY tgname")
+                        .map(row -> row.get("tgname", String.class))
+                        .all()
+                        .collectList())
+                .assertNext(triggers -> Assertions.assertTrue(triggers.containsAll(List.of("anime_catalog_version",
+                        "anime_change_insert", "anime_change_update", "anime_change_delete",
+                        "anime_cache_insert", "anime_cache_update", "anime_cache_delete",
+                        "principal_cache_update", "principal_cache_delete")), triggers::toString))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("listAll returns an ETag derived from the migrated catalog_version table")
+    public void listAll_ReturnsETag_WhenMigrationsWereApplied() {
+        client.mutateWith(mockUser().roles("USER"))
+                .get()
+                .uri("/animes")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().exists(HttpHeaders.ETAG);
+    }
+}
@@ -0,0 +1,97 @@
+package academy.devdojo.springwebflux.notification;
+
+import academy.devdojo.springwebflux.config.AnimeProperties;
+import academy.devdojo.springwebflux.domain.AnimeChange;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.BDDMockito;
+import org.mockito.Mock;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+@ExtendWith(SpringExtension.class)
+class AnimeChangeFeedTest {
+
+    @Mock
+    private PostgresNotifications postgresNotifications;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private AnimeChangeFeed feed(int bufferSize) {
+        return new AnimeChangeFeed(postgresNotifications, new ObjectMapper(), new AnimeProperties(500, bufferSize, Duration.ofSeconds(15)),
+                meterRegistry);
+    }
+
+    @Test
+    @DisplayName("subscribe emits the changes published on the notification channel and skips malformed payloads")
+    public void subscribe_EmitsChanges_WhenNotified() {
+        BDDMockito.when(postgresNotifications.listen(AnimeChangeFeed.CHANNEL))
+                .thenReturn(Flux.just("{\"type\":\"INSERT\",\"changes\":[{\"id\":1,\"name\":\"Naruto\",\"version\":0},"
+                                + "{\"id\":2,\"name\":\"Bleach\",\"version\":0}]}",
+                        "not json",
+                        "{\"type\":\"DELETE\",\"changes\":[{\"id\":1,\"name\":\"Naruto\",\"version\":0}]}"));
+
+        StepVerifier.create(feed(16).subscribe())
+                .expectNext(new AnimeChange(AnimeChange.Type.INSERT, 1, "Naruto", 0))
+                .expectNext(new AnimeChange(AnimeChange.Type.INSERT, 2, "Bleach", 0))
+                .expectNext(new AnimeChange(AnimeChange.Type.DELETE, 1, "Naruto", 0))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("subscribe drops the oldest changes when a subscriber falls behind its buffer")
+    public void subscribe_DropsOldest_WhenSubscriberIsSlow() {
+        BDDMockito.when(postgresNotifications.listen(AnimeChangeFeed.CHANNEL))
+                .thenReturn(Flux.just("{\"type\":\"UPDATE\",\"changes\":[{\"id\":1,\"name\":\"A\",\"version\":1}]}",
+                        "{\"type\":\"UPDATE\",\"changes\":[{\"id\":1,\"name\":\"B\",\"version\":2}]}",
+                        "{\"type\":\"UPDATE\",\"changes\":[{\"id\":1,\"name\":\"C\",\"version\":3}]}"));
+
+        StepVerifier.create(feed(2).subscribe(), 0)
+                .thenRequest(3)
+                .expectNext(new AnimeChange(AnimeChange.Type.UPDATE, 1, "B", 2))
+                .expectNext(new AnimeChange(AnimeChange.Type.UPDATE, 1, "C", 3))
+                .verifyComplete();
+
+        Assertions.assertEquals(1.0, meterRegistry.counter("anime.changes.dropped").count());
+    }
+
+    @Test
+    @DisplayName("events sends a keep-alive comment while no change arrives")
+    public void events_SendsKeepAlive_WhenFeedIsQuiet() {
+        BDDMockito.when(postgresNotifications.listen(AnimeChangeFeed.CHANNEL))
+                .thenReturn(Flux.never());
+
+        StepVerifier.withVirtualTime(() -> feed(16).events())
+                .expectSubscription()
+                .expectNoEvent(Duration.ofSeconds(15))
+                .assertNext(event -> {
+                    Assertions.assertEquals("keep-alive", event.comment());
+                    Assertions.assertNull(event.data());
+                })
+                .thenCancel()
+                .verify();
+    }
+
+    @Test
+    @DisplayName("lines writes one JSON line per change and an empty line as heartbeat")
+    public void lines_WritesNdjsonAndHeartbeat_WhenSubscribed() {
+        BDDMockito.when(postgresNotifications.listen(AnimeChangeFeed.CHANNEL))
+                .thenReturn(Flux.just("{\"type\":\"INSERT\",\"changes\":[{\"id\":1,\"name\":\"Naruto\",\"version\":0}]}")
+                        .concatWith(Flux.never()));
+
+        StepVerifier.withVirtualTime(() -> feed(16).lines())
+                .expectSubscription()
+                .expectNext("{\"type\":\"INSERT\",\"id\":1,\"name\":\"Naruto\",\"version\":0}\n")
+                .thenAwait(Duration.ofSeconds(15))
+                .expectNext("\n")
+                .thenCancel()
+                .verify();
+    }
+}
@@ -0,0 +1,119 @@
+package academy.devdojo.springwebflux.notification;
+
+import academy.devdojo.springwebflux.cache.AnimeCache;
+import academy.devdojo.springwebflux.domain.Anime;
+import academy.devdojo.springwebflux.repository.DevDojoUserRepository;
+import academy.devdojo.springwebflux.service.DevDojoUserDetailsService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.BDDMockito;
+import org.mockito.Mock;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import reactor.core.publisher.Flux;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+@ExtendWith(SpringExtension.class)
+class CacheInvalidationListenerTest {
+
+    @Mock
+    private PostgresNotifications postgresNotifications;
+
+    @Mock
+    private DevDojoUserRepository devDojoUserRepository;
+
+    private final AsyncCache<Integer, Anime> animeCache = Caffeine.newBuilder().buildAsync();
+    private final AsyncCache<String, UserDetails> principalCache = Caffeine.newBuilder().buildAsync();
+
+    private CacheInvalidationListener listener;
+
+    @BeforeEach
+    public void setUp() {
+        listener = new CacheInvalidationListener(postgresNotifications, new ObjectMapper(),
+                new AnimeCache(animeCache, Caffeine.newBuilder().build()),
+                new DevDojoUserDetailsService(devDojoUserRepository, principalCache), new SimpleMeterRegistry());
+
+        animeCache.put(1, CompletableFuture.completedFuture(Anime.builder().id(1).name("Naruto").build()));
+        animeCache.put(2, CompletableFuture.completedFuture(Anime.builder().id(2).name("Bleach").build()));
+        principalCache.put("william", CompletableFuture.completedFuture(User.withUsername("william").password("x").roles("USER").build()));
+    }
+
+    @Test
+    @DisplayName("start evicts the keys named by each invalidation and leaves the rest cached")
+    public void start_EvictsInvalidatedKeys_WhenNotified() {
+        BDDMockito.when(postgresNotifications.listen(CacheInvalidationListener.CHANNEL))
+                .thenReturn(Flux.just("{\"cache\":\"anime\",\"keys\":[1]}", "{\"cache\":\"principal\",\"keys\":[\"william\"]}"));
+
+        listener.start();
+
+        Assertions.assertNull(animeCache.getIfPresent(1));
+        Assertions.assertNotNull(animeCache.getIfPresent(2));
+        Assertions.assertNull(principalCache.getIfPresent("william"));
+    }
+
+    @Test
+    @DisplayName("start clears every cache when the listening connection is (re)established")
+    public void start_ClearsCaches_WhenListening() {
+        BDDMockito.when(postgresNotifications.listen(CacheInvalidationListener.CHANNEL))
+                .thenReturn(Flux.just(PostgresNotifications.LISTENING));
+
+        listener.start();
+
+        Assertions.assertEquals(0, animeCache.synchronous().estimatedSize());
+        Assertions.assertEquals(0, principalCache.synchronous().estimatedSize());
+    }
+
+    @Test
+    @DisplayName("start flushes every cache and keeps listening when a payload cannot be applied")
+    public void start_FlushesAndContinues_WhenPayloadIsInvalid() {
+        principalCache.put("maria", CompletableFuture.completedFuture(User.withUsername("maria").password("x").roles("USER").build()));
+        BDDMockito.when(postgresNotifications.listen(CacheInvalidationListener.CHANNEL))
+                .thenReturn(Flux.just("{\"cache\":\"anime\",\"keys\":[\"one\"]}", "{\"cache\":\"anime\",\"keys\":null}",
+                        "{\"cache\":\"principal\",\"keys\":[\"william\"]}"));
+
+        listener.start();
+
+        Assertions.assertEquals(0, animeCache.synchronous().estimatedSize());
+        Assertions.assertNull(principalCache.getIfPresent("maria"));
+        Assertions.assertNull(principalCache.getIfPresent("william"));
+    }
+
+    @Test
+    @DisplayName("start resubscribes when the notification stream fails")
+    public void start_Resubscribes_WhenStreamFails() throws InterruptedException {
+        BDDMockito.when(postgresNotifications.listen(CacheInvalidationListener.CHANNEL))
+                .thenReturn(Flux.error(new IllegalStateException("closed")))
+                .thenReturn(Flux.just("{\"cache\":\"anime\",\"keys\":[1]}"));
+
+        listener.start();
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (animeCache.getIfPresent(1) != null && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        Assertions.assertNull(animeCache.getIfPresent(1));
+        Assertions.assertNotNull(animeCache.getIfPresent(2));
+    }
+
+    @Test
+    @DisplayName("start clears every cache as soon as the listening connection is lost")
+    public void start_ClearsCaches_WhenDisconnected() {
+        BDDMockito.when(postgresNotifications.listen(CacheInvalidationListener.CHANNEL))
+                .thenReturn(Flux.just(PostgresNotifications.DISCONNECTED).concatWith(Flux.never()));
+
+        listener.start();
+
+        Assertions.assertEquals(0, animeCache.synchronous().estimatedSize());
+        Assertions.assertEquals(0, principalCache.synchronous().estimatedSize());
+    }
+}
@@ -0,0 +1,59 @@
+package academy.devdojo.springwebflux.security;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.BDDMockito;
+import org.mockito.Mock;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+@ExtendWith(SpringExtension.class)
+class CachingPasswordEncoderTest {
+
+    private static final String ENCODED = "{bcrypt}$2a$10$encoded";
+
+    @Mock
+    private PasswordEncoder delegate;
+
+    private CachingPasswordEncoder cachingPasswordEncoder;
+
+    @BeforeEach
+    public void setUp() {
+        cachingPasswordEncoder = new CachingPasswordEncoder(delegate, Caffeine.newBuilder().<String, Boolean>build());
+
+        BDDMockito.when(delegate.matches("devdojo", ENCODED))
+                .thenReturn(true);
+    }
+
+    @Test
+    @DisplayName("matches checks the delegate only once when the same credentials are verified again")
+    public void matches_SkipsDelegate_WhenCredentialsAlreadyVerified() {
+        Assertions.assertTrue(cachingPasswordEncoder.matches("devdojo", ENCODED));
+        Assertions.assertTrue(cachingPasswordEncoder.matches("devdojo", ENCODED));
+
+        BDDMockito.verify(delegate, BDDMockito.times(1)).matches("devdojo", ENCODED);
+    }
+
+    @Test
+    @DisplayName("matches always checks the delegate when credentials are invalid")
+    public void matches_ChecksDelegate_WhenCredentialsAreInvalid() {
+        Assertions.assertFalse(cachingPasswordEncoder.matches("wrong", ENCODED));
+        Assertions.assertFalse(cachingPasswordEncoder.matches("wrong", ENCODED));
+
+        BDDMockito.verify(delegate, BDDMockito.times(2)).matches("wrong", ENCODED);
+    }
+
+    @Test
+    @DisplayName("matches checks the delegate again when the stored password changes")
+    public void matches_ChecksDelegate_WhenEncodedPasswordChanges() {
+        Assertions.assertTrue(cachingPasswordEncoder.matches("devdojo", ENCODED));
+        Assertions.assertFalse(cachingPasswordEncoder.matches("devdojo", ENCODED + "changed"));
+
+        BDDMockito.verify(delegate).matches(ArgumentMatchers.eq("devdojo"), ArgumentMatchers.eq(ENCODED + "changed"));
+    }
+}
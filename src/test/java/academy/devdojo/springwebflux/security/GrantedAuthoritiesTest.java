@@ -0,0 +1,34 @@
+package academy.devdojo.springwebflux.security;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.List;
+
+class GrantedAuthoritiesTest {
+
+    @Test
+    @DisplayName("parse splits on commas and trims whitespace and empty entries")
+    public void parse_TrimsEntries_WhenCommaSeparated() {
+        List<GrantedAuthority> authorities = GrantedAuthorities.parse(" ROLE_USER , ROLE_ADMIN,,  ");
+
+        Assertions.assertEquals(List.of("ROLE_USER", "ROLE_ADMIN"), authorities.stream().map(GrantedAuthority::getAuthority).toList());
+    }
+
+    @Test
+    @DisplayName("parse returns no authorities for a null, empty or blank string")
+    public void parse_ReturnsEmpty_WhenBlank() {
+        Assertions.assertTrue(GrantedAuthorities.parse(null).isEmpty());
+        Assertions.assertTrue(GrantedAuthorities.parse("").isEmpty());
+        Assertions.assertTrue(GrantedAuthorities.parse("   ").isEmpty());
+    }
+
+    @Test
+    @DisplayName("parse and of return the same interned instances for the same input")
+    public void parse_ReturnsInternedInstances_WhenCalledAgain() {
+        Assertions.assertSame(GrantedAuthorities.parse("ROLE_USER,ROLE_ADMIN"), GrantedAuthorities.parse("ROLE_USER,ROLE_ADMIN"));
+        Assertions.assertSame(GrantedAuthorities.of("ROLE_USER"), GrantedAuthorities.parse("ROLE_USER,ROLE_ADMIN").get(0));
+    }
+}
@@ -0,0 +1,16 @@
+package academy.devdojo.springwebflux.security;
+
+import reactor.blockhound.BlockHound;
+import reactor.blockhound.integration.BlockHoundIntegration;
+
+// BCrypt never blocks on I/O, but it pins the CPU for tens of milliseconds, which stalls an event loop just the same
+public class PasswordHashingBlockHoundIntegration implements BlockHoundIntegration {
+
+    private static final String BCRYPT = "org.springframework.security.crypto.bcrypt.BCrypt";
+
+    @Override
+    public void applyTo(BlockHound.Builder builder) {
+        builder.markAsBlocking(BCRYPT, "hashpw", "(Ljava/lang/String;Ljava/lang/String;)Ljava/lang/String;")
+                .markAsBlocking(BCRYPT, "checkpw", "(Ljava/lang/String;Ljava/lang/String;)Z");
+    }
+}
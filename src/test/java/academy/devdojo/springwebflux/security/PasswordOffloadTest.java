@@ -0,0 +1,67 @@
+package academy.devdojo.springwebflux.security;
+
+import academy.devdojo.springwebflux.config.OffloadProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UserDetailsRepositoryReactiveAuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.MapReactiveUserDetailsService;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.crypto.factory.PasswordEncoderFactories;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import reactor.blockhound.BlockHound;
+import reactor.blockhound.BlockingOperationError;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+class PasswordOffloadTest {
+
+    private final PasswordEncoder passwordEncoder = PasswordEncoderFactories.createDelegatingPasswordEncoder();
+
+    private Scheduler offloadScheduler;
+
+    @BeforeAll
+    public static void blockHoundSetup() {
+        BlockHound.install();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        offloadScheduler.dispose();
+    }
+
+    @Test
+    @DisplayName("authenticate matches the password off the event loop when offloading to bounded-elastic")
+    public void authenticate_MatchesOffEventLoop_WhenBoundedElastic() {
+        StepVerifier.create(authenticateFromEventLoop(OffloadProperties.Mode.BOUNDED_ELASTIC))
+                .expectNextMatches(Authentication::isAuthenticated)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("authenticate fails under BlockHound when the password is matched on the event loop")
+    public void authenticate_FailsBlockHound_WhenEventLoop() {
+        StepVerifier.create(authenticateFromEventLoop(OffloadProperties.Mode.EVENT_LOOP))
+                .expectError(BlockingOperationError.class)
+                .verify();
+    }
+
+    private Mono<Authentication> authenticateFromEventLoop(OffloadProperties.Mode mode) {
+        offloadScheduler = new OffloadProperties(mode, 4, 100).newScheduler();
+        UserDetailsRepositoryReactiveAuthenticationManager authenticationManager = new UserDetailsRepositoryReactiveAuthenticationManager(
+                new MapReactiveUserDetailsService(User.withUsername("william")
+                        .password(passwordEncoder.encode("devdojo"))
+                        .roles("USER")
+                        .build()));
+        authenticationManager.setPasswordEncoder(passwordEncoder);
+        authenticationManager.setScheduler(offloadScheduler);
+
+        return Mono.defer(() -> authenticationManager.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("william", "devdojo")))
+                .subscribeOn(Schedulers.parallel());
+    }
+}
@@ -0,0 +1,69 @@
+package academy.devdojo.springwebflux.security;
+
+import academy.devdojo.springwebflux.domain.DevDojoUser;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+class RoleAuthorizationManagerTest {
+
+    private final RoleAuthorizationManager admin = RoleAuthorizationManager.hasRole("ADMIN");
+
+    @Test
+    @DisplayName("check grants a DevDojoUser principal that has the role")
+    public void check_Grants_WhenUserHasRole() {
+        DevDojoUser user = new DevDojoUser(1, "William", "william", "x", "ROLE_USER, ROLE_ADMIN");
+
+        StepVerifier.create(admin.check(authenticated(user), null).map(AuthorizationDecision::isGranted))
+                .expectNext(true)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("check denies a DevDojoUser principal without the role, including one with no authorities")
+    public void check_Denies_WhenUserLacksRole() {
+        StepVerifier.create(admin.check(authenticated(new DevDojoUser(1, "William", "william", "x", "ROLE_USER")), null)
+                        .map(AuthorizationDecision::isGranted))
+                .expectNext(false)
+                .verifyComplete();
+        StepVerifier.create(admin.check(authenticated(new DevDojoUser(2, "Empty", "empty", "x", "")), null)
+                        .map(AuthorizationDecision::isGranted))
+                .expectNext(false)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("check falls back to the granted authorities for other principals such as bearer tokens")
+    public void check_UsesAuthorities_WhenPrincipalIsNotDevDojoUser() {
+        Authentication token = UsernamePasswordAuthenticationToken.authenticated("william", null,
+                AuthorityUtils.createAuthorityList("ROLE_USER", "ROLE_ADMIN"));
+
+        StepVerifier.create(admin.check(Mono.just(token), null).map(AuthorizationDecision::isGranted))
+                .expectNext(true)
+                .verifyComplete();
+        StepVerifier.create(RoleAuthorizationManager.hasRole("OWNER").check(Mono.just(token), null).map(AuthorizationDecision::isGranted))
+                .expectNext(false)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("check denies when there is no authenticated principal")
+    public void check_Denies_WhenUnauthenticated() {
+        StepVerifier.create(admin.check(Mono.empty(), null).map(AuthorizationDecision::isGranted))
+                .expectNext(false)
+                .verifyComplete();
+        StepVerifier.create(admin.check(Mono.just(UsernamePasswordAuthenticationToken.unauthenticated("william", "x")), null)
+                        .map(AuthorizationDecision::isGranted))
+                .expectNext(false)
+                .verifyComplete();
+    }
+
+    private Mono<Authentication> authenticated(DevDojoUser user) {
+        return Mono.just(UsernamePasswordAuthenticationToken.authenticated(user, null, user.getAuthorities()));
+    }
+}
@@ -0,0 +1,59 @@
+package academy.devdojo.springwebflux.security;
+
+import academy.devdojo.springwebflux.config.TokenProperties;
+import academy.devdojo.springwebflux.domain.Token;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+
+import java.time.Duration;
+import java.util.Optional;
+
+class TokenServiceTest {
+
+    private final TokenService tokenService = new TokenService(new TokenProperties(true, "devdojo-secret", Duration.ofHours(1)));
+
+    private final Authentication authentication = UsernamePasswordAuthenticationToken.authenticated("jean", null,
+            AuthorityUtils.createAuthorityList("ROLE_USER", "ROLE_ADMIN"));
+
+    @Test
+    @DisplayName("verify returns the authentication the token was issued for")
+    public void verify_ReturnsAuthentication_WhenTokenIsValid() {
+        Token token = tokenService.issue(authentication);
+
+        Optional<Authentication> verified = tokenService.verify(token.accessToken());
+
+        Assertions.assertTrue(verified.isPresent());
+        Assertions.assertEquals("jean", verified.get().getName());
+        Assertions.assertEquals(authentication.getAuthorities(), verified.get().getAuthorities());
+    }
+
+    @Test
+    @DisplayName("verify returns empty when the token was tampered with")
+    public void verify_ReturnsEmpty_WhenTokenIsTampered() {
+        String[] parts = tokenService.issue(authentication).accessToken().split("\\.");
+        String forged = parts[0] + "." + parts[1] + "." + (Long.parseLong(parts[2]) + 3600) + "." + parts[3];
+
+        Assertions.assertTrue(tokenService.verify(forged).isEmpty());
+        Assertions.assertTrue(tokenService.verify("not-a-token").isEmpty());
+    }
+
+    @Test
+    @DisplayName("verify returns empty when the token is signed with another secret")
+    public void verify_ReturnsEmpty_WhenSignedWithAnotherSecret() {
+        TokenService otherTokenService = new TokenService(new TokenProperties(true, "other-secret", Duration.ofHours(1)));
+
+        Assertions.assertTrue(tokenService.verify(otherTokenService.issue(authentication).accessToken()).isEmpty());
+    }
+
+    @Test
+    @DisplayName("verify returns empty when the token is expired")
+    public void verify_ReturnsEmpty_WhenTokenIsExpired() {
+        TokenService expiredTokenService = new TokenService(new TokenProperties(true, "devdojo-secret", Duration.ofSeconds(-1)));
+
+        Assertions.assertTrue(tokenService.verify(expiredTokenService.issue(authentication).accessToken()).isEmpty());
+    }
+}
@@ -0,0 +1,152 @@
+package academy.devdojo.springwebflux.service;
+
+import academy.devdojo.springwebflux.cache.AnimeCache;
+import academy.devdojo.springwebflux.cache.AnimeSuggestIndex;
+import academy.devdojo.springwebflux.config.AnimeProperties;
+import academy.devdojo.springwebflux.domain.Anime;
+import academy.devdojo.springwebflux.domain.BatchOutcome;
+import academy.devdojo.springwebflux.repository.AnimeRepository;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.BDDMockito;
+import org.mockito.Mock;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+
+@ExtendWith(SpringExtension.class)
+class AnimeBatchServiceTest {
+
+    @Mock
+    private AnimeRepository animeRepository;
+
+    @Mock
+    private TransactionalOperator transactionalOperator;
+
+    private AnimeSuggestIndex animeSuggestIndex;
+
+    private AnimeBatchService animeBatchService;
+
+    @BeforeEach
+    public void setUp() {
+        animeSuggestIndex = new AnimeSuggestIndex(Schedulers.immediate());
+        animeBatchService = new AnimeBatchService(animeRepository, new AnimeProperties(2, 256, Duration.ofSeconds(15)),
+                new AnimeCache(Caffeine.newBuilder().buildAsync(), Caffeine.newBuilder().build()), animeSuggestIndex,
+                transactionalOperator);
+
+        BDDMockito.when(transactionalOperator.transactional(ArgumentMatchers.<Mono<Object>>any()))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    @DisplayName("updateAll reports updated, conflicting, missing and invalid animes and marks each committed chunk")
+    public void updateAll_ReturnsOutcomePerId_WhenSuccessful() {
+        BDDMockito.when(animeRepository.updateNames(ArgumentMatchers.anyList()))
+                .thenReturn(Flux.just(Anime.builder().id(1).name("Naruto").version(1).build()))
+                .thenReturn(Flux.empty());
+        BDDMockito.when(animeRepository.findExistingIds(new Integer[]{2}))
+                .thenReturn(Flux.just(2));
+        BDDMockito.when(animeRepository.findExistingIds(new Integer[]{3}))
+                .thenReturn(Flux.empty());
+
+        Flux<Anime> animes = Flux.just(
+                Anime.builder().id(1).name("Naruto").build(),
+                Anime.builder().id(2).name("Bleach").version(4).build(),
+                Anime.builder().id(3).name("One Piece").version(0).build(),
+                Anime.builder().id(4).name("").build());
+
+        StepVerifier.create(animeBatchService.updateAll(animes))
+                .expectSubscription()
+                .expectNext(new BatchOutcome(1, BatchOutcome.Status.UPDATED))
+                .expectNext(new BatchOutcome(2, BatchOutcome.Status.CONFLICT))
+                .expectNext(new BatchOutcome(null, BatchOutcome.Status.COMMITTED))
+                .expectNext(new BatchOutcome(3, BatchOutcome.Status.NOT_FOUND))
+                .expectNext(new BatchOutcome(4, BatchOutcome.Status.INVALID))
+                .expectNext(new BatchOutcome(null, BatchOutcome.Status.COMMITTED))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("deleteAll runs one statement and one transaction per chunk and reports missing ids")
+    public void deleteAll_ReturnsOutcomePerId_WhenSuccessful() {
+        BDDMockito.when(animeRepository.removeAll(List.of(1, 2)))
+                .thenReturn(Flux.just(1));
+        BDDMockito.when(animeRepository.removeAll(List.of(3)))
+                .thenReturn(Flux.just(3));
+
+        StepVerifier.create(animeBatchService.deleteAll(Flux.just(1, 2, 3)))
+                .expectSubscription()
+                .expectNext(new BatchOutcome(1, BatchOutcome.Status.DELETED))
+                .expectNext(new BatchOutcome(2, BatchOutcome.Status.NOT_FOUND))
+                .expectNext(new BatchOutcome(null, BatchOutcome.Status.COMMITTED))
+                .expectNext(new BatchOutcome(3, BatchOutcome.Status.DELETED))
+                .expectNext(new BatchOutcome(null, BatchOutcome.Status.COMMITTED))
+                .verifyComplete();
+
+        BDDMockito.verify(animeRepository, BDDMockito.times(2)).removeAll(ArgumentMatchers.anyList());
+        BDDMockito.verify(transactionalOperator, BDDMockito.times(2)).transactional(ArgumentMatchers.<Mono<Object>>any());
+    }
+
+    @Test
+    @DisplayName("updateAll leaves the suggest index untouched when a chunk fails before commit")
+    public void updateAll_DoesNotIndex_WhenChunkFails() {
+        BDDMockito.when(animeRepository.updateNames(ArgumentMatchers.anyList()))
+                .thenReturn(Flux.just(Anime.builder().id(1).name("Naruto").version(1).build())
+                        .concatWith(Mono.error(new IllegalStateException("rollback"))));
+
+        StepVerifier.create(animeBatchService.updateAll(Flux.just(Anime.builder().id(1).name("Naruto").build())))
+                .expectSubscription()
+                .expectError(IllegalStateException.class)
+                .verify();
+
+        Assertions.assertEquals(0, animeSuggestIndex.size());
+    }
+
+    @Test
+    @DisplayName("updateAll applies an in-memory list in a single transaction")
+    public void updateAll_UsesOneTransaction_WhenGivenList() {
+        List<Anime> animes = List.of(
+                Anime.builder().id(1).name("Naruto").build(),
+                Anime.builder().id(2).name("Bleach").build(),
+                Anime.builder().id(3).name("One Piece").build());
+        BDDMockito.when(animeRepository.updateNames(animes))
+                .thenReturn(Flux.fromIterable(animes).map(anime -> anime.withVersion(1)));
+
+        StepVerifier.create(animeBatchService.updateAll(animes))
+                .expectSubscription()
+                .expectNext(new BatchOutcome(1, BatchOutcome.Status.UPDATED))
+                .expectNext(new BatchOutcome(2, BatchOutcome.Status.UPDATED))
+                .expectNext(new BatchOutcome(3, BatchOutcome.Status.UPDATED))
+                .verifyComplete();
+
+        BDDMockito.verify(animeRepository).updateNames(animes);
+        BDDMockito.verify(transactionalOperator).transactional(ArgumentMatchers.<Mono<Object>>any());
+    }
+
+    @Test
+    @DisplayName("deleteAll applies an in-memory list in a single transaction")
+    public void deleteAll_UsesOneTransaction_WhenGivenList() {
+        BDDMockito.when(animeRepository.removeAll(List.of(1, 2, 3)))
+                .thenReturn(Flux.just(1, 3));
+
+        StepVerifier.create(animeBatchService.deleteAll(List.of(1, 2, 3)))
+                .expectSubscription()
+                .expectNext(new BatchOutcome(1, BatchOutcome.Status.DELETED))
+                .expectNext(new BatchOutcome(2, BatchOutcome.Status.NOT_FOUND))
+                .expectNext(new BatchOutcome(3, BatchOutcome.Status.DELETED))
+                .verifyComplete();
+
+        BDDMockito.verify(transactionalOperator).transactional(ArgumentMatchers.<Mono<Object>>any());
+    }
+}
@@ -0,0 +1,88 @@
+package academy.devdojo.springwebflux.service;
+
+import academy.devdojo.springwebflux.cache.AnimeCache;
+import academy.devdojo.springwebflux.cache.AnimeSuggestIndex;
+import academy.devdojo.springwebflux.config.AnimeProperties;
+import academy.devdojo.springwebflux.domain.Anime;
+import academy.devdojo.springwebflux.domain.ImportError;
+import academy.devdojo.springwebflux.domain.ImportProgress;
+import academy.devdojo.springwebflux.repository.AnimeRepository;
+import academy.devdojo.springwebflux.util.AnimeCreator;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.BDDMockito;
+import org.mockito.Mock;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+@ExtendWith(SpringExtension.class)
+class AnimeImportServiceTest {
+
+    @Mock
+    private AnimeRepository animeRepository;
+
+    private AnimeImportService animeImportService;
+
+    private final Anime animeToBeSaved = AnimeCreator.createAnimeToBeSaved();
+
+    @BeforeEach
+    public void setUp() {
+        animeImportService = new AnimeImportService(animeRepository, new AnimeProperties(2, 256, Duration.ofSeconds(15)),
+                new AnimeSuggestIndex(Schedulers.immediate()), new AnimeCache(Caffeine.newBuilder().buildAsync(), Caffeine.newBuilder().build()));
+
+        BDDMockito.when(animeRepository.insertAll(ArgumentMatchers.anyList()))
+                .thenAnswer(invocation -> Flux.fromIterable(invocation.<List<Anime>>getArgument(0)));
+    }
+
+    @Test
+    @DisplayName("importAll writes the animes in windows and reports progress for each window")
+    public void importAll_ReturnsProgressPerWindow_WhenSuccessful() {
+        StepVerifier.create(animeImportService.importAll(Flux.just(animeToBeSaved, animeToBeSaved, animeToBeSaved)))
+                .expectSubscription()
+                .expectNext(new ImportProgress(2, 2, List.of()))
+                .expectNext(new ImportProgress(3, 3, List.of()))
+                .verifyComplete();
+
+        BDDMockito.verify(animeRepository, BDDMockito.times(2)).insertAll(ArgumentMatchers.anyList());
+    }
+
+    @Test
+    @DisplayName("importAll skips invalid lines and reports them without failing the import")
+    public void importAll_ReportsLineErrors_WhenNameIsEmpty() {
+        StepVerifier.create(animeImportService.importAll(Flux.just(animeToBeSaved, animeToBeSaved.withName(""), animeToBeSaved)))
+                .expectSubscription()
+                .expectNext(new ImportProgress(2, 1, List.of(new ImportError(2, "Invalid Name"))))
+                .expectNext(new ImportProgress(3, 2, List.of()))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("importAll requests a single window from the upload while that window is being written")
+    public void importAll_RequestsOneWindow_WhileWindowIsBeingWritten() {
+        BDDMockito.when(animeRepository.insertAll(ArgumentMatchers.anyList()))
+                .thenReturn(Flux.never());
+        AtomicLong requested = new AtomicLong();
+        Flux<Anime> upload = Flux.range(1, 100)
+                .map(line -> animeToBeSaved)
+                .doOnRequest(requested::addAndGet);
+
+        StepVerifier.create(animeImportService.importAll(upload))
+                .expectSubscription()
+                .expectNoEvent(Duration.ofMillis(100))
+                .thenCancel()
+                .verify();
+
+        Assertions.assertEquals(2, requested.get());
+    }
+}
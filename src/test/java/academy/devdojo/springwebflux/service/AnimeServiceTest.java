@@ -1,16 +1,22 @@
 package academy.devdojo.springwebflux.service;
 
+import academy.devdojo.springwebflux.cache.AnimeCache;
+import academy.devdojo.springwebflux.cache.AnimeSuggestIndex;
 import academy.devdojo.springwebflux.domain.Anime;
+import academy.devdojo.springwebflux.domain.AnimePage;
+import academy.devdojo.springwebflux.exception.DomainException;
 import academy.devdojo.springwebflux.repository.AnimeRepository;
 import academy.devdojo.springwebflux.util.AnimeCreator;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentMatchers;
 import org.mockito.BDDMockito;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
-import org.springframework.web.server.ResponseStatusException;
+import org.springframework.transaction.reactive.TransactionalOperator;
 import reactor.blockhound.BlockHound;
 import reactor.blockhound.BlockingOperationError;
 import reactor.core.publisher.Flux;
@@ -23,6 +29,7 @@ import java.util.concurrent.ExecutionException;
 import java.util.concurrent.FutureTask;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.stream.IntStream;
 
 @ExtendWith(SpringExtension.class)
 class AnimeServiceTest {
@@ -33,6 +40,15 @@ class AnimeServiceTest {
     @Mock
     private AnimeRepository animeRepository;
 
+    @Spy
+    private AnimeCache animeCache = new AnimeCache(Caffeine.newBuilder().buildAsync(), Caffeine.newBuilder().build());
+
+    @Spy
+    private AnimeSuggestIndex animeSuggestIndex = new AnimeSuggestIndex(Schedulers.immediate());
+
+    @Mock
+    private TransactionalOperator transactionalOperator;
+
     private final Anime anime = AnimeCreator.createValidAnime();
 
     @BeforeAll
@@ -58,6 +74,9 @@ class AnimeServiceTest {
 
     @BeforeEach
     public void setUp() {
+        BDDMockito.when(transactionalOperator.transactional(ArgumentMatchers.<Mono<Object>>any()))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
         BDDMockito.when(animeRepository.findAll())
                 .thenReturn(Flux.just(anime));
 
@@ -68,14 +87,17 @@ class AnimeServiceTest {
                 .thenReturn(Mono.just(anime));
 
         BDDMockito.when(animeRepository
-                .saveAll(List.of(AnimeCreator.createAnimeToBeSaved(), AnimeCreator.createAnimeToBeSaved())))
+                .insertAll(List.of(AnimeCreator.createAnimeToBeSaved(), AnimeCreator.createAnimeToBeSaved())))
                 .thenReturn(Flux.just(anime, anime));
 
-        BDDMockito.when(animeRepository.delete(ArgumentMatchers.any()))
-                .thenReturn(Mono.empty());
+        BDDMockito.when(animeRepository.deleteRow(ArgumentMatchers.anyInt()))
+                .thenReturn(Mono.just(1));
 
-        BDDMockito.when(animeRepository.save(AnimeCreator.createValidAnime()))
-                .thenReturn(Mono.empty());
+        BDDMockito.when(animeRepository.updateName(ArgumentMatchers.anyInt(), ArgumentMatchers.anyString()))
+                .thenReturn(Mono.just(1));
+
+        BDDMockito.when(animeRepository.updateName(ArgumentMatchers.anyInt(), ArgumentMatchers.anyString(), ArgumentMatchers.anyInt()))
+                .thenReturn(Mono.just(1));
     }
 
     @Test
@@ -87,6 +109,65 @@ class AnimeServiceTest {
                 .verifyComplete();
     }
 
+    @Test
+    @DisplayName("findPage returns the next cursor when the page is full")
+    public void findPage_ReturnsNextCursor_WhenPageIsFull() {
+        BDDMockito.when(animeRepository.findPageAfter(0, 2))
+                .thenReturn(Flux.just(anime, anime.withId(2)));
+
+        StepVerifier.create(animeService.findPage(0, 2))
+                .expectSubscription()
+                .expectNext(new AnimePage(List.of(anime, anime.withId(2)), 2))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("findPage returns Mono error when limit is out of range")
+    public void findPage_ReturnsMonoError_WhenLimitIsInvalid() {
+        StepVerifier.create(animeService.findPage(0, 0))
+                .expectSubscription()
+                .expectError(DomainException.class)
+                .verify();
+    }
+
+    @Test
+    @DisplayName("streamAll emits every page until a page is not full")
+    public void streamAll_ReturnsFluxOfAnime_WhenSuccessful() {
+        List<Anime> firstPage = IntStream.rangeClosed(1, 500).mapToObj(anime::withId).toList();
+
+        BDDMockito.when(animeRepository.findPageAfter(0, 500))
+                .thenReturn(Flux.fromIterable(firstPage));
+        BDDMockito.when(animeRepository.findPageAfter(500, 500))
+                .thenReturn(Flux.just(anime.withId(501)));
+
+        StepVerifier.create(animeService.streamAll())
+                .expectSubscription()
+                .expectNextCount(500)
+                .expectNext(anime.withId(501))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("search escapes LIKE wildcards and ranks by prefix and similarity")
+    public void search_ReturnsFluxOfAnime_WhenSuccessful() {
+        BDDMockito.when(animeRepository.search("100%_Poke", "%100\\%\\_Poke%", "100\\%\\_Poke%", 20, 40L))
+                .thenReturn(Flux.just(anime));
+
+        StepVerifier.create(animeService.search(" 100%_Poke ", 2, 20))
+                .expectSubscription()
+                .expectNext(anime)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("search returns Flux error when query is blank")
+    public void search_ReturnsFluxError_WhenQueryIsBlank() {
+        StepVerifier.create(animeService.search(" ", 0, 20))
+                .expectSubscription()
+                .expectError(DomainException.class)
+                .verify();
+    }
+
     @Test
     @DisplayName("findById returns Mono with anime when it exists")
     public void findById_ReturnsMonoAnime_WhenSuccessful() {
@@ -96,6 +177,64 @@ class AnimeServiceTest {
                 .verifyComplete();
     }
 
+    @Test
+    @DisplayName("findById queries the repository once when the anime is requested again")
+    public void findById_ReturnsCachedAnime_WhenRequestedAgain() {
+        StepVerifier.create(animeService.findById(1).then(animeService.findById(1)))
+                .expectSubscription()
+                .expectNext(anime)
+                .verifyComplete();
+
+        BDDMockito.verify(animeRepository, BDDMockito.times(1)).findById(1);
+    }
+
+    @Test
+    @DisplayName("findById queries the repository again after the anime is deleted")
+    public void findById_QueriesRepository_WhenAnimeWasDeleted() {
+        StepVerifier.create(animeService.findById(1).then(animeService.delete(1)))
+                .expectSubscription()
+                .verifyComplete();
+
+        BDDMockito.when(animeRepository.findById(ArgumentMatchers.anyInt()))
+                .thenReturn(Mono.empty());
+
+        StepVerifier.create(animeService.findById(1))
+                .expectSubscription()
+                .expectError(DomainException.class)
+                .verify();
+    }
+
+    @Test
+    @DisplayName("findById answers repeated misses without querying the repository")
+    public void findById_SkipsRepository_WhenIdWasRecentlyMissing() {
+        BDDMockito.when(animeRepository.findById(ArgumentMatchers.anyInt()))
+                .thenReturn(Mono.empty());
+
+        StepVerifier.create(animeService.findById(1).onErrorResume(e -> animeService.findById(1)))
+                .expectSubscription()
+                .expectError(DomainException.class)
+                .verify();
+
+        BDDMockito.verify(animeRepository, BDDMockito.times(1)).findById(1);
+    }
+
+    @Test
+    @DisplayName("findById finds an anime saved after its id was recorded as missing")
+    public void findById_ReturnsAnime_WhenSavedAfterMiss() {
+        BDDMockito.when(animeRepository.findById(ArgumentMatchers.anyInt()))
+                .thenReturn(Mono.empty());
+
+        StepVerifier.create(animeService.findById(1))
+                .expectSubscription()
+                .expectError(DomainException.class)
+                .verify();
+
+        StepVerifier.create(animeService.save(AnimeCreator.createAnimeToBeSaved()).then(animeService.findById(1)))
+                .expectSubscription()
+                .expectNext(anime)
+                .verifyComplete();
+    }
+
     @Test
     @DisplayName("findById returns Mono error when anime not it exists")
     public void findById_ReturnsMonoError_WhenEmptyMonoReturned() {
@@ -104,7 +243,7 @@ class AnimeServiceTest {
 
         StepVerifier.create(animeService.findById(1))
                 .expectSubscription()
-                .expectError(ResponseStatusException.class)
+                .expectError(DomainException.class)
                 .verify();
     }
 
@@ -130,19 +269,30 @@ class AnimeServiceTest {
                 .verifyComplete();
     }
 
+    @Test
+    @DisplayName("saveAll leaves the cache and suggest index untouched when the insert fails and the transaction rolls back")
+    public void saveAll_DoesNotCache_WhenInsertFails() {
+        Anime animeToBeSaved = AnimeCreator.createAnimeToBeSaved();
+        BDDMockito.when(animeRepository.insertAll(List.of(animeToBeSaved, animeToBeSaved.withName("Bleach"))))
+                .thenReturn(Flux.just(anime).concatWith(Mono.error(new IllegalStateException("chunk failed"))));
+
+        StepVerifier.create(animeService.saveAll(List.of(animeToBeSaved, animeToBeSaved.withName("Bleach"))))
+                .expectSubscription()
+                .expectError(IllegalStateException.class)
+                .verify();
+
+        BDDMockito.verify(animeCache, BDDMockito.never()).put(ArgumentMatchers.any());
+        BDDMockito.verify(animeSuggestIndex, BDDMockito.never()).put(ArgumentMatchers.any());
+    }
+
     @Test
     @DisplayName("saveAll returns Mono error when one od the objects in the list contains null or empty name")
     public void saveAll_ReturnsMonoError_WhenContainsInvalidName() {
         Anime animeToBeSaved = AnimeCreator.createAnimeToBeSaved();
 
-        BDDMockito.when(animeRepository
-                        .saveAll(ArgumentMatchers.anyIterable()))
-                .thenReturn(Flux.just(anime, anime.withName("")));
-
         StepVerifier.create(animeService.saveAll(List.of(animeToBeSaved, animeToBeSaved.withName(""))))
                 .expectSubscription()
-                .expectNext(anime)
-                .expectError(ResponseStatusException.class)
+                .expectError(DomainException.class)
                 .verify();
     }
 
@@ -157,12 +307,12 @@ class AnimeServiceTest {
     @Test
     @DisplayName("delete returns Mono error whene anime does not exist")
     public void delete_ReturnMonoError_WhenEmptyMonoIsReturned() {
-        BDDMockito.when(animeRepository.findById(ArgumentMatchers.anyInt()))
-                .thenReturn(Mono.empty());
+        BDDMockito.when(animeRepository.deleteRow(ArgumentMatchers.anyInt()))
+                .thenReturn(Mono.just(0));
 
         StepVerifier.create(animeService.delete(1))
                 .expectSubscription()
-                .expectError(ResponseStatusException.class)
+                .expectError(DomainException.class)
                 .verify();
     }
 
@@ -177,13 +327,73 @@ class AnimeServiceTest {
     @Test
     @DisplayName("update save updated anime and returns empty mono when successful")
     public void update_ReturnMonoError_WhenEmptyMonoIsReturned() {
-        BDDMockito.when(animeRepository.findById(ArgumentMatchers.anyInt()))
-                .thenReturn(Mono.empty());
+        BDDMockito.when(animeRepository.updateName(ArgumentMatchers.anyInt(), ArgumentMatchers.anyString()))
+                .thenReturn(Mono.just(0));
 
-        StepVerifier.create(animeService.update(AnimeCreator.createValidAnime()))
+        StepVerifier.create(animeService.update(AnimeCreator.createValidAnime().withVersion(null)))
+                .expectSubscription()
+                .expectErrorMatches(e -> e == DomainException.ANIME_NOT_FOUND)
+                .verify();
+    }
+
+    @Test
+    @DisplayName("update returns conflict when the anime exists with another version")
+    public void update_ReturnsConflict_WhenVersionIsStale() {
+        BDDMockito.when(animeRepository.updateName(ArgumentMatchers.anyInt(), ArgumentMatchers.anyString(), ArgumentMatchers.anyInt()))
+                .thenReturn(Mono.just(0));
+        BDDMockito.when(animeRepository.existsById(1))
+                .thenReturn(Mono.just(true));
+
+        StepVerifier.create(animeService.update(AnimeCreator.createValidAnime().withVersion(3)))
+                .expectSubscription()
+                .expectErrorMatches(e -> e == DomainException.ANIME_CONFLICT)
+                .verify();
+    }
+
+    @Test
+    @DisplayName("delete returns not found when a versioned delete matches no anime")
+    public void delete_ReturnsNotFound_WhenVersionedAnimeDoesNotExist() {
+        BDDMockito.when(animeRepository.deleteRow(ArgumentMatchers.anyInt(), ArgumentMatchers.anyInt()))
+                .thenReturn(Mono.just(0));
+        BDDMockito.when(animeRepository.existsById(1))
+                .thenReturn(Mono.just(false));
+
+        StepVerifier.create(animeService.delete(1, 3))
+                .expectSubscription()
+                .expectErrorMatches(e -> e == DomainException.ANIME_NOT_FOUND)
+                .verify();
+    }
+
+    @Test
+    @DisplayName("suggest returns the animes whose name starts with the prefix after a save")
+    public void suggest_ReturnsSavedAnime_WhenPrefixMatches() {
+        animeService.save(AnimeCreator.createAnimeToBeSaved()).block();
+
+        StepVerifier.create(animeService.suggest(anime.getName().substring(0, 3), 10))
+                .expectSubscription()
+                .expectNext(anime)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("suggest stops returning the anime once it is deleted")
+    public void suggest_ReturnsEmpty_WhenAnimeIsDeleted() {
+        animeSuggestIndex.put(anime);
+
+        animeService.delete(anime.getId()).block();
+
+        StepVerifier.create(animeService.suggest(anime.getName(), 10))
+                .expectSubscription()
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("suggest returns error when limit is out of range")
+    public void suggest_ReturnsError_WhenLimitIsInvalid() {
+        StepVerifier.create(animeService.suggest("a", 51))
                 .expectSubscription()
-                .expectError(ResponseStatusException.class)
+                .expectError(DomainException.class)
                 .verify();
     }
 
-}
\ No newline at end of file
+}
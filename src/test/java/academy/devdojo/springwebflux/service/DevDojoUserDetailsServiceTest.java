@@ -0,0 +1,62 @@
+package academy.devdojo.springwebflux.service;
+
+import academy.devdojo.springwebflux.domain.DevDojoUser;
+import academy.devdojo.springwebflux.repository.DevDojoUserRepository;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.BDDMockito;
+import org.mockito.Mock;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+@ExtendWith(SpringExtension.class)
+class DevDojoUserDetailsServiceTest {
+
+    @Mock
+    private DevDojoUserRepository devDojoUserRepository;
+
+    private DevDojoUserDetailsService devDojoUserDetailsService;
+
+    private final DevDojoUser user = new DevDojoUser(1, "William Suane", "william", "{noop}devdojo", "ROLE_USER");
+
+    @BeforeEach
+    public void setUp() {
+        devDojoUserDetailsService = new DevDojoUserDetailsService(devDojoUserRepository, Caffeine.newBuilder().buildAsync());
+
+        BDDMockito.when(devDojoUserRepository.findByUsername("william"))
+                .thenReturn(Mono.just(user));
+    }
+
+    @Test
+    @DisplayName("findByUsername serves a repeated lookup from the principal cache")
+    public void findByUsername_HitsRepositoryOnce_WhenLookedUpTwice() {
+        StepVerifier.create(devDojoUserDetailsService.findByUsername("william"))
+                .expectNext(user)
+                .verifyComplete();
+        StepVerifier.create(devDojoUserDetailsService.findByUsername("william"))
+                .expectNext(user)
+                .verifyComplete();
+
+        BDDMockito.verify(devDojoUserRepository, BDDMockito.times(1)).findByUsername("william");
+    }
+
+    @Test
+    @DisplayName("evict makes the next findByUsername read the repository again")
+    public void findByUsername_HitsRepositoryAgain_WhenEvicted() {
+        StepVerifier.create(devDojoUserDetailsService.findByUsername("william"))
+                .expectNext(user)
+                .verifyComplete();
+
+        devDojoUserDetailsService.evict("william");
+
+        StepVerifier.create(devDojoUserDetailsService.findByUsername("william"))
+                .expectNext(user)
+                .verifyComplete();
+
+        BDDMockito.verify(devDojoUserRepository, BDDMockito.times(2)).findByUsername("william");
+    }
+}
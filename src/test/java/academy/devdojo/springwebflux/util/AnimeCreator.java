@@ -14,6 +14,7 @@ public class AnimeCreator {
         return Anime.builder()
                 .id(1)
                 .name("Pokemon")
+                .version(2)
                 .build();
     }
 
@@ -21,6 +22,7 @@ public class AnimeCreator {
         return Anime.builder()
                 .id(1)
                 .name("Pokemon Horizontes")
+                .version(2)
                 .build();
     }
 }